@@ -0,0 +1,192 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (chaubold): created
+ */
+package org.knime.pythonportexample.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HexFormat;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the accuracy, merging and binary format of the {@link VolumeSketch}.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class VolumeSketchTest {
+
+    /**
+     * A sketch with k=8 of the values 1, 2, 2, 4, 4: 1.0 on level 0 and 2.0, 4.0 on level 1. The same bytes are checked
+     * in test_volumesketch.py so that the Java and Python formats stay compatible.
+     */
+    private static final String SHARED_SKETCH_HEX = "00000001" // format version
+        + "00000008" // k
+        + "0000000000000005" // n
+        + "3ff0000000000000" // min = 1.0
+        + "4010000000000000" // max = 4.0
+        + "00000002" // number of levels
+        + "00000001" + "3ff0000000000000" // level 0: [1.0]
+        + "00000002" + "4000000000000000" + "4010000000000000"; // level 1: [2.0, 4.0]
+
+    private static final int NUM_VALUES = 1_000_000;
+
+    /** Reads the bytes that are shared with the Python tests and writes them back unchanged. */
+    @Test
+    public void testSharedBinaryFormat() throws IOException {
+        final byte[] bytes = HexFormat.of().parseHex(SHARED_SKETCH_HEX);
+        final var sketch = VolumeSketch.fromByteArray(bytes);
+
+        assertEquals(8, sketch.getK());
+        assertEquals(5, sketch.getN());
+        assertEquals(1.0, sketch.getMin(), 0);
+        assertEquals(4.0, sketch.getMax(), 0);
+        assertEquals(2.0, sketch.getQuantile(0.5), 0);
+        assertEquals(4.0, sketch.getQuantile(0.9), 0);
+        assertArrayEquals(bytes, sketch.toByteArray());
+    }
+
+    /** Writes and reads a compacted sketch and checks that nothing changed. */
+    @Test
+    public void testRoundTrip() throws IOException {
+        final var sketch = createSketch(shuffledValues(100_000));
+        final byte[] bytes = sketch.toByteArray();
+        final var restored = VolumeSketch.fromByteArray(bytes);
+
+        assertEquals(sketch.getN(), restored.getN());
+        assertEquals(sketch.getMin(), restored.getMin(), 0);
+        assertEquals(sketch.getMax(), restored.getMax(), 0);
+        for (double q = 0; q <= 1; q += 0.05) {
+            assertEquals(sketch.getQuantile(q), restored.getQuantile(q), 0);
+        }
+        assertArrayEquals(bytes, restored.toByteArray());
+    }
+
+    /** The same values result in the same sketch. */
+    @Test
+    public void testDeterministic() {
+        final double[] values = shuffledValues(100_000);
+        assertArrayEquals(createSketch(values).toByteArray(), createSketch(values).toByteArray());
+    }
+
+    /** The quantiles of a large stream are within the rank error of the sketch. */
+    @Test
+    public void testAccuracy() {
+        final var sketch = createSketch(shuffledValues(NUM_VALUES));
+        assertEquals(NUM_VALUES, sketch.getN());
+        assertRankErrorWithinBound(sketch);
+        assertTrue("The sketch should stay small", sketch.toByteArray().length < 8 * 1024);
+    }
+
+    /** Merging sketches of partitions is as accurate as building one sketch over all values. */
+    @Test
+    public void testMergeAccuracy() {
+        final double[] values = shuffledValues(NUM_VALUES);
+        final int numPartitions = 7;
+        final var merged = new VolumeSketch();
+        for (int p = 0; p < numPartitions; p++) {
+            final var partition = new VolumeSketch(VolumeSketch.DEFAULT_K, p);
+            for (int i = p; i < values.length; i += numPartitions) {
+                partition.update(values[i]);
+            }
+            merged.merge(partition);
+        }
+
+        assertEquals(NUM_VALUES, merged.getN());
+        assertEquals(0, merged.getMin(), 0);
+        assertEquals(NUM_VALUES - 1, merged.getMax(), 0);
+        assertRankErrorWithinBound(merged);
+    }
+
+    /** Sketches with different k cannot be merged, NaN values are ignored and empty sketches return NaN. */
+    @Test
+    public void testEdgeCases() {
+        final var sketch = new VolumeSketch(100);
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        sketch.update(Double.NaN);
+        assertTrue(sketch.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> sketch.merge(new VolumeSketch(200)));
+        assertThrows(IllegalArgumentException.class, () -> sketch.getQuantile(1.5));
+    }
+
+    /** The values 0 .. n-1 in random order, so the true rank of value v is v / n */
+    private static double[] shuffledValues(final int n) {
+        final double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        final var random = new Random(42);
+        for (int i = n - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final double tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+        return values;
+    }
+
+    private static VolumeSketch createSketch(final double[] values) {
+        final var sketch = new VolumeSketch();
+        for (final double value : values) {
+            sketch.update(value);
+        }
+        return sketch;
+    }
+
+    private static void assertRankErrorWithinBound(final VolumeSketch sketch) {
+        for (double q = 0.01; q < 1; q += 0.01) {
+            final double rank = sketch.getQuantile(q) / sketch.getN();
+            assertEquals("Rank error at quantile " + q, q, rank, sketch.getNormalizedRankError());
+        }
+    }
+}
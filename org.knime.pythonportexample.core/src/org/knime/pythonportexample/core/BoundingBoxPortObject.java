@@ -16,6 +16,10 @@
  * A KNIME PortObject representing a 3D bounding box defined by two points (min and max).
  * The bounding box is serialized as two Point3D records (min and max).
  *
+ * For incremental extension over append-only tables, the bounding box can optionally remember how many rows of the
+ * table it was computed on and the RowID of the last of these rows. A consumer can then only process the appended rows
+ * if the first rows of its table still match, and recompute otherwise.
+ *
  * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
  */
 public class BoundingBoxPortObject extends AbstractSimplePortObject {
@@ -41,8 +45,13 @@ public String toString() {
     public static final class Serializer extends AbstractSimplePortObjectSerializer<BoundingBoxPortObject> {
     }
 
+    /** Row count of boxes that were not computed on a table */
+    public static final long UNKNOWN_ROW_COUNT = -1;
+
     private Point3D m_min;
     private Point3D m_max;
+    private long m_rowCount = UNKNOWN_ROW_COUNT;
+    private String m_lastRowKey;
 
     /**
      * Constructs a bounding box from two 3D points.
@@ -54,6 +63,20 @@ public BoundingBoxPortObject(final Point3D min, final Point3D max) {
         this.m_max = max;
     }
 
+    /**
+     * Constructs a bounding box from two 3D points that was computed on the first rows of a table.
+     * @param min the minimum (lower) corner of the bounding box
+     * @param max the maximum (upper) corner of the bounding box
+     * @param rowCount the number of table rows the bounding box contains, or {@link #UNKNOWN_ROW_COUNT}
+     * @param lastRowKey the RowID of the last of these rows, or null if unknown
+     */
+    public BoundingBoxPortObject(final Point3D min, final Point3D max, final long rowCount,
+        final String lastRowKey) {
+        this(min, max);
+        this.m_rowCount = rowCount;
+        this.m_lastRowKey = lastRowKey;
+    }
+
     /**
      * Empty Constructor needed for deserialization
      */
@@ -68,10 +91,21 @@ public BoundingBoxPortObject() {
      * @return the maximum (upper) corner of the bounding box
      */
     public Point3D getMax() { return m_max; }
+    /**
+     * @return the number of table rows the bounding box was computed on, or {@link #UNKNOWN_ROW_COUNT}
+     */
+    public long getRowCount() { return m_rowCount; }
+    /**
+     * @return the RowID of the last table row the bounding box was computed on, or null if unknown
+     */
+    public String getLastRowKey() { return m_lastRowKey; }
 
     @Override
     public String getSummary() {
-        return "BoundingBox{" + this.m_min + " -> " + this.m_max + "}";
+        if (m_rowCount == UNKNOWN_ROW_COUNT) {
+            return "BoundingBox{" + this.m_min + " -> " + this.m_max + "}";
+        }
+        return "BoundingBox{" + this.m_min + " -> " + this.m_max + ", rows=" + this.m_rowCount + "}";
     }
 
     @Override
@@ -100,6 +134,8 @@ protected void save(final ModelContentWO model, final ExecutionMonitor exec) thr
         model.addDouble("maxx", m_max.x);
         model.addDouble("maxy", m_max.y);
         model.addDouble("maxz", m_max.z);
+        model.addLong("rowCount", m_rowCount);
+        model.addString("lastRowKey", m_lastRowKey);
     }
 
     @Override
@@ -107,5 +143,8 @@ protected void load(final ModelContentRO model, final PortObjectSpec spec, final
         throws InvalidSettingsException, CanceledExecutionException {
         this.m_min = new Point3D(model.getDouble("minx"), model.getDouble("miny"), model.getDouble("minz"));
         this.m_max = new Point3D(model.getDouble("maxx"), model.getDouble("maxy"), model.getDouble("maxz"));
+        // added later, boxes that were saved before don't know their row count
+        this.m_rowCount = model.getLong("rowCount", UNKNOWN_ROW_COUNT);
+        this.m_lastRowKey = model.getString("lastRowKey", null);
     }
 }
@@ -21,7 +21,8 @@
  *
  * This class implements both {@link PortObjectEncoder} and {@link PortObjectDecoder} interfaces, allowing back and
  * forth conversion between {@link BoundingBoxPortObject} and a StringIntermediateRepresentation which is a serialized
- * JSON array representation.
+ * JSON array representation. The array contains the six coordinates, followed by the row count and last RowID if the
+ * bounding box knows the table rows it was computed on.
  *
  * The {@link BoundingBoxPortObjectSpec} is converted via an {@link EmptyIntermediateRepresentation} because it doesn't
  * contain any information that needs to be communicated.
@@ -49,8 +50,8 @@ public BoundingBoxPortObject decodePortObject(final StringIntermediateRepresenta
         try {
             var objectMapper = new ObjectMapper();
             var arr = objectMapper.readTree(intermediateRepresentation.getStringRepresentation());
-            if (!arr.isArray() || arr.size() != 6) {
-                throw new IllegalArgumentException("Expected JSON array of 6 elements");
+            if (!arr.isArray() || (arr.size() != 6 && arr.size() != 8)) {
+                throw new IllegalArgumentException("Expected JSON array of 6 or 8 elements");
             }
             double minX = arr.get(0).asDouble();
             double minY = arr.get(1).asDouble();
@@ -60,6 +61,11 @@ public BoundingBoxPortObject decodePortObject(final StringIntermediateRepresenta
             double maxZ = arr.get(5).asDouble();
             BoundingBoxPortObject.Point3D min = new BoundingBoxPortObject.Point3D(minX, minY, minZ);
             BoundingBoxPortObject.Point3D max = new BoundingBoxPortObject.Point3D(maxX, maxY, maxZ);
+            if (arr.size() == 8) {
+                long rowCount = arr.get(6).asLong();
+                String lastRowKey = arr.get(7).isNull() ? null : arr.get(7).asText();
+                return new BoundingBoxPortObject(min, max, rowCount, lastRowKey);
+            }
             return new BoundingBoxPortObject(min, max);
         } catch (Exception e) {
             throw new RuntimeException("Failed to decode BoundingBoxPortObject", e);
@@ -79,6 +85,11 @@ public PortObjectIntermediateRepresentation encodePortObject(final BoundingBoxPo
         node.add(portObject.getMax().x());
         node.add(portObject.getMax().y());
         node.add(portObject.getMax().z());
+
+        if (portObject.getRowCount() != BoundingBoxPortObject.UNKNOWN_ROW_COUNT) {
+            node.add(portObject.getRowCount());
+            node.add(portObject.getLastRowKey());
+        }
         return new JavaStringIntermediateRepresentation(node.toString());
     }
 
@@ -0,0 +1,357 @@
+package org.knime.pythonportexample.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A mergeable KLL quantile sketch over a stream of doubles, e.g. the volumes of an ExampleValue column.
+ *
+ * The sketch keeps a hierarchy of levels, where an item on level h stands for 2^h items of the stream. Whenever a
+ * level exceeds its capacity, it is sorted and every other item is promoted to the next level. The memory footprint
+ * is therefore O(k) items independent of the stream length, and quantile queries have a normalized rank error of
+ * roughly {@link #getNormalizedRankError()}.
+ *
+ * The binary format written by {@link #writeTo(DataOutput)} is shared with the Python implementation in
+ * {@code knime.ports.volumesketch}, so sketches can be built and merged on either side.
+ *
+ * Which item of a pair is promoted is chosen randomly. The random generator is seeded, with {@link #DEFAULT_SEED}
+ * unless another seed is given, so that the same stream of values always results in the same sketch. The Python
+ * implementation uses a different generator, so sketches of the same values built in Java and in Python differ within
+ * the rank error.
+ *
+ * Instances are not thread-safe. Build one sketch per partition and {@link #merge(VolumeSketch)} them afterwards.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class VolumeSketch {
+
+    /** The default accuracy parameter, corresponds to a rank error of about 1.3% */
+    public static final int DEFAULT_K = 200;
+
+    /** The seed of the random generator if none is given */
+    public static final long DEFAULT_SEED = 0;
+
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final int m_k;
+
+    private final Random m_random;
+
+    private final List<double[]> m_levels = new ArrayList<>();
+
+    private int[] m_levelSizes = new int[0];
+
+    private long m_n;
+
+    private double m_min = Double.POSITIVE_INFINITY;
+
+    private double m_max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Create an empty sketch with the {@link #DEFAULT_K default accuracy}.
+     */
+    public VolumeSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param k the accuracy parameter, larger values need more memory but give more accurate quantiles
+     */
+    public VolumeSketch(final int k) {
+        this(k, DEFAULT_SEED);
+    }
+
+    /**
+     * Create an empty sketch.
+     *
+     * @param k the accuracy parameter, larger values need more memory but give more accurate quantiles
+     * @param seed the seed of the random generator that decides which items are promoted during compaction
+     */
+    public VolumeSketch(final int k, final long seed) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY + " but was " + k);
+        }
+        m_k = k;
+        m_random = new Random(seed);
+        addLevel();
+    }
+
+    /**
+     * @return the accuracy parameter of this sketch
+     */
+    public int getK() {
+        return m_k;
+    }
+
+    /**
+     * @return the number of values that went into this sketch
+     */
+    public long getN() {
+        return m_n;
+    }
+
+    /**
+     * @return whether no values went into this sketch yet
+     */
+    public boolean isEmpty() {
+        return m_n == 0;
+    }
+
+    /**
+     * @return the smallest value that went into this sketch, or NaN if it is empty
+     */
+    public double getMin() {
+        return isEmpty() ? Double.NaN : m_min;
+    }
+
+    /**
+     * @return the largest value that went into this sketch, or NaN if it is empty
+     */
+    public double getMax() {
+        return isEmpty() ? Double.NaN : m_max;
+    }
+
+    /**
+     * @return the approximate normalized rank error of a single quantile query, e.g. 0.013 for k=200
+     */
+    public double getNormalizedRankError() {
+        return 2.296 / Math.pow(m_k, 0.9723);
+    }
+
+    /**
+     * Add one value to the sketch. NaN values are ignored.
+     *
+     * @param value the value to add
+     */
+    public void update(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        m_n++;
+        m_min = Math.min(m_min, value);
+        m_max = Math.max(m_max, value);
+        append(0, value);
+        if (m_levelSizes[0] >= levelCapacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * Merge the values summarized by another sketch into this one. The other sketch is not modified.
+     *
+     * @param other the sketch to merge into this one, must have the same k
+     */
+    public void merge(final VolumeSketch other) {
+        if (other.m_k != m_k) {
+            throw new IllegalArgumentException(
+                "Cannot merge sketches with different accuracy (k=" + m_k + " and k=" + other.m_k + ")");
+        }
+        if (other.isEmpty()) {
+            return;
+        }
+        for (int h = 0; h < other.m_levels.size(); h++) {
+            final double[] items = other.m_levels.get(h);
+            final int size = other.m_levelSizes[h];
+            for (int i = 0; i < size; i++) {
+                append(h, items[i]);
+            }
+        }
+        m_n += other.m_n;
+        m_min = Math.min(m_min, other.m_min);
+        m_max = Math.max(m_max, other.m_max);
+        compress();
+    }
+
+    /**
+     * Estimate the value at the given quantile.
+     *
+     * @param q the quantile in [0, 1], e.g. 0.99 for the 99th percentile
+     * @return the estimated value, or NaN if the sketch is empty
+     */
+    public double getQuantile(final double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be in [0, 1] but was " + q);
+        }
+        if (isEmpty()) {
+            return Double.NaN;
+        }
+        if (q == 0) {
+            return m_min;
+        }
+        if (q == 1) {
+            return m_max;
+        }
+
+        // merge the individually sorted levels, there are only few levels so a linear scan for the minimum is cheap
+        final int numLevels = m_levels.size();
+        final var sorted = new double[numLevels][];
+        for (int h = 0; h < numLevels; h++) {
+            sorted[h] = Arrays.copyOf(m_levels.get(h), m_levelSizes[h]);
+            Arrays.sort(sorted[h]);
+        }
+        final var positions = new int[numLevels];
+        final double targetRank = q * m_n;
+        long cumulativeWeight = 0;
+        while (true) {
+            int minLevel = -1;
+            for (int h = 0; h < numLevels; h++) {
+                if (positions[h] < sorted[h].length
+                    && (minLevel < 0 || sorted[h][positions[h]] < sorted[minLevel][positions[minLevel]])) {
+                    minLevel = h;
+                }
+            }
+            if (minLevel < 0) {
+                return m_max;
+            }
+            final double value = sorted[minLevel][positions[minLevel]];
+            positions[minLevel]++;
+            cumulativeWeight += 1L << minLevel;
+            if (cumulativeWeight >= targetRank) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Write the sketch in its binary format.
+     *
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(final DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(m_k);
+        out.writeLong(m_n);
+        out.writeDouble(m_min);
+        out.writeDouble(m_max);
+        out.writeInt(m_levels.size());
+        for (int h = 0; h < m_levels.size(); h++) {
+            final double[] items = m_levels.get(h);
+            final int size = m_levelSizes[h];
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) {
+                out.writeDouble(items[i]);
+            }
+        }
+    }
+
+    /**
+     * Read a sketch that was written with {@link #writeTo(DataOutput)}.
+     *
+     * @param in the input to read from
+     * @return the sketch
+     * @throws IOException if reading fails or the data is not a valid sketch
+     */
+    public static VolumeSketch readFrom(final DataInput in) throws IOException {
+        final int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported volume sketch format version " + version);
+        }
+        final var sketch = new VolumeSketch(in.readInt());
+        sketch.m_n = in.readLong();
+        sketch.m_min = in.readDouble();
+        sketch.m_max = in.readDouble();
+        final int numLevels = in.readInt();
+        for (int h = 0; h < numLevels; h++) {
+            final int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                sketch.append(h, in.readDouble());
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * @return the sketch in its binary format
+     */
+    public byte[] toByteArray() {
+        final var bytes = new ByteArrayOutputStream();
+        try (final var out = new DataOutputStream(bytes)) {
+            writeTo(out);
+        } catch (IOException e) {
+            // cannot happen for in-memory streams
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes a sketch in its binary format
+     * @return the sketch
+     * @throws IOException if the bytes are not a valid sketch
+     */
+    public static VolumeSketch fromByteArray(final byte[] bytes) throws IOException {
+        try (final var in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return readFrom(in);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VolumeSketch{n=%d, k=%d, min=%f, max=%f}", m_n, m_k, getMin(), getMax());
+    }
+
+    private void addLevel() {
+        m_levels.add(new double[MIN_LEVEL_CAPACITY]);
+        m_levelSizes = Arrays.copyOf(m_levelSizes, m_levels.size());
+    }
+
+    private void append(final int level, final double value) {
+        while (m_levels.size() <= level) {
+            addLevel();
+        }
+        double[] items = m_levels.get(level);
+        final int size = m_levelSizes[level];
+        if (size == items.length) {
+            items = Arrays.copyOf(items, 2 * items.length);
+            m_levels.set(level, items);
+        }
+        items[size] = value;
+        m_levelSizes[level] = size + 1;
+    }
+
+    /** Capacities shrink geometrically by 2/3 from the top level downwards */
+    private int levelCapacity(final int level) {
+        final int depth = m_levels.size() - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int)Math.ceil(m_k * Math.pow(2.0 / 3.0, depth)));
+    }
+
+    /** Compact every over-full level from the bottom up by promoting every other sorted item */
+    private void compress() {
+        for (int h = 0; h < m_levels.size(); h++) {
+            final int size = m_levelSizes[h];
+            if (size < levelCapacity(h)) {
+                continue;
+            }
+            final double[] items = m_levels.get(h);
+            Arrays.sort(items, 0, size);
+
+            // an odd item stays on this level so that the total weight is preserved
+            final int numPaired = size - (size % 2);
+            final int offset = m_random.nextBoolean() ? 1 : 0;
+            for (int i = offset; i < numPaired; i += 2) {
+                append(h + 1, items[i]);
+            }
+            if (numPaired < size) {
+                items[0] = items[size - 1];
+                m_levelSizes[h] = 1;
+            } else {
+                m_levelSizes[h] = 0;
+            }
+        }
+    }
+}
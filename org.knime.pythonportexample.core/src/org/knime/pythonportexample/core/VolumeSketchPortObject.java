@@ -0,0 +1,107 @@
+package org.knime.pythonportexample.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+
+import javax.swing.JComponent;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.port.AbstractPortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.port.PortObjectZipInputStream;
+import org.knime.core.node.port.PortObjectZipOutputStream;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.PortTypeRegistry;
+
+/**
+ * A KNIME PortObject holding a {@link VolumeSketch} that summarizes the distribution of ExampleValue volumes.
+ * Percentiles can be answered from the few KB of sketch state without rescanning the table, and sketches of
+ * different partitions or loop iterations can be merged.
+ *
+ * The sketch is stored in its binary format as a single zip entry.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class VolumeSketchPortObject extends AbstractPortObject {
+
+    /** Accessor for the type */
+    @SuppressWarnings("hiding")
+    public static PortType TYPE = PortTypeRegistry.getInstance().getPortType(VolumeSketchPortObject.class);
+
+    private static final String ZIP_ENTRY_NAME = "sketch.bin";
+
+    /** Serializer as required by ext point definition. */
+    public static final class Serializer extends AbstractPortObjectSerializer<VolumeSketchPortObject> {
+    }
+
+    private VolumeSketch m_sketch;
+
+    /**
+     * Constructs a port object around the given sketch.
+     * @param sketch the volume sketch, must not be modified afterwards
+     */
+    public VolumeSketchPortObject(final VolumeSketch sketch) {
+        m_sketch = sketch;
+    }
+
+    /**
+     * Empty Constructor needed for deserialization
+     */
+    public VolumeSketchPortObject() {
+    }
+
+    /**
+     * @return the sketch, must not be modified
+     */
+    public VolumeSketch getSketch() {
+        return m_sketch;
+    }
+
+    @Override
+    public String getSummary() {
+        return String.format("VolumeSketch{n=%d, median=%f, p99=%f}", m_sketch.getN(), m_sketch.getQuantile(0.5),
+            m_sketch.getQuantile(0.99));
+    }
+
+    @Override
+    public PortObjectSpec getSpec() {
+        return new VolumeSketchPortObjectSpec();
+    }
+
+    /**
+     * Show a string representation of the sketch as "view"
+     *
+     * NB: We still need to provide a swing GUI for legacy reasons. This will be
+     * replaced by a web UI soon.
+     */
+    @Override
+    public JComponent[] getViews() {
+        javax.swing.JLabel label = new javax.swing.JLabel(getSummary());
+        label.setName("VolumeSketchPortObject");
+        return new JComponent[] { label };
+    }
+
+    @Override
+    protected void save(final PortObjectZipOutputStream out, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        out.putNextEntry(new ZipEntry(ZIP_ENTRY_NAME));
+        // don't close the data stream, that would close the zip stream as well
+        final var dataOut = new DataOutputStream(out);
+        m_sketch.writeTo(dataOut);
+        dataOut.flush();
+        out.closeEntry();
+    }
+
+    @Override
+    protected void load(final PortObjectZipInputStream in, final PortObjectSpec spec, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final var entry = in.getNextEntry();
+        if (entry == null || !ZIP_ENTRY_NAME.equals(entry.getName())) {
+            throw new IOException("Expected zip entry '" + ZIP_ENTRY_NAME + "' for the volume sketch");
+        }
+        m_sketch = VolumeSketch.readFrom(new DataInputStream(in));
+    }
+}
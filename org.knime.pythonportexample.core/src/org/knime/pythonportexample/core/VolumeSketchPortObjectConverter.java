@@ -0,0 +1,74 @@
+package org.knime.pythonportexample.core;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.knime.python3.types.port.converter.PortObjectConversionContext;
+import org.knime.python3.types.port.converter.PortObjectDecoder;
+import org.knime.python3.types.port.converter.PortObjectEncoder;
+import org.knime.python3.types.port.converter.PortObjectSpecConversionContext;
+import org.knime.python3.types.port.ir.EmptyIntermediateRepresentation;
+import org.knime.python3.types.port.ir.JavaEmptyIntermediateRepresentation;
+import org.knime.python3.types.port.ir.JavaStringIntermediateRepresentation;
+import org.knime.python3.types.port.ir.PortObjectIntermediateRepresentation;
+import org.knime.python3.types.port.ir.PortObjectSpecIntermediateRepresentation;
+import org.knime.python3.types.port.ir.StringIntermediateRepresentation;
+
+/**
+ * Converter class for encoding and decoding {@link VolumeSketchPortObject} instances to and from intermediate
+ * representations for KNIME port object serialization.
+ *
+ * Only string intermediate representations are available, so the binary format of the {@link VolumeSketch} is
+ * transferred Base64 encoded and decoded by {@code knime.ports.volumesketch} on the Python side.
+ *
+ * The {@link VolumeSketchPortObjectSpec} is converted via an {@link EmptyIntermediateRepresentation} because it
+ * doesn't contain any information that needs to be communicated.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("restriction")
+public class VolumeSketchPortObjectConverter
+    implements PortObjectEncoder<VolumeSketchPortObject, VolumeSketchPortObjectSpec>,
+    PortObjectDecoder<VolumeSketchPortObject, StringIntermediateRepresentation, VolumeSketchPortObjectSpec, EmptyIntermediateRepresentation> {
+
+    @Override
+    public Class<VolumeSketchPortObject> getPortObjectClass() {
+        return VolumeSketchPortObject.class;
+    }
+
+    @Override
+    public Class<VolumeSketchPortObjectSpec> getPortObjectSpecClass() {
+        return VolumeSketchPortObjectSpec.class;
+    }
+
+    @Override
+    public VolumeSketchPortObject decodePortObject(final StringIntermediateRepresentation intermediateRepresentation,
+        final VolumeSketchPortObjectSpec spec, final PortObjectConversionContext context) {
+        try {
+            var bytes = Base64.getDecoder().decode(intermediateRepresentation.getStringRepresentation());
+            return new VolumeSketchPortObject(VolumeSketch.fromByteArray(bytes));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException("Failed to decode VolumeSketchPortObject", e);
+        }
+    }
+
+    @Override
+    public PortObjectIntermediateRepresentation encodePortObject(final VolumeSketchPortObject portObject,
+        final PortObjectConversionContext context) {
+        return new JavaStringIntermediateRepresentation(
+            Base64.getEncoder().encodeToString(portObject.getSketch().toByteArray()));
+    }
+
+    @Override
+    public VolumeSketchPortObjectSpec decodePortObjectSpec(
+        final EmptyIntermediateRepresentation intermediateRepresentation,
+        final PortObjectSpecConversionContext context) {
+        return new VolumeSketchPortObjectSpec();
+    }
+
+    @Override
+    public PortObjectSpecIntermediateRepresentation encodePortObjectSpec(final VolumeSketchPortObjectSpec spec,
+        final PortObjectSpecConversionContext context) {
+        return JavaEmptyIntermediateRepresentation.INSTANCE;
+    }
+}
@@ -0,0 +1,38 @@
+package org.knime.pythonportexample.core;
+
+import javax.swing.JComponent;
+
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.ModelContentRO;
+import org.knime.core.node.ModelContentWO;
+import org.knime.core.node.port.AbstractSimplePortObjectSpec;
+
+/**
+ * The VolumeSketchPortObjectSpec does not contain any specific info, as the
+ * sketch itself is part of the PortObject.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class VolumeSketchPortObjectSpec extends AbstractSimplePortObjectSpec {
+
+    /** Serializer as required by extension point. */
+    public static final class Serializer
+        extends AbstractSimplePortObjectSpecSerializer<VolumeSketchPortObjectSpec> {
+    }
+
+    /**
+     * NB: We don't want to show a view for the spec
+     */
+    @Override
+    public JComponent[] getViews() {
+        return new JComponent[] {};
+    }
+
+    @Override
+    protected void save(final ModelContentWO model) {
+    }
+
+    @Override
+    protected void load(final ModelContentRO model) throws InvalidSettingsException {
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   19 Oct 2026 (chaubold): created
+ */
+package org.knime.pythonportexample.core.node;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.port.PortObject;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeConfiguration;
+import org.knime.node.parameters.legacy.nodeimpl.WebUINodeModel;
+import org.knime.pythonportexample.core.VolumeSketch;
+import org.knime.pythonportexample.core.VolumeSketchPortObject;
+import org.knime.pythonportexample.core.VolumeSketchPortObjectSpec;
+import org.knime.pythontypeexample.core.ExampleDataValue;
+import org.knime.pythontypeexample.core.ExampleValueBatchReader;
+
+/**
+ * Node model that builds a {@link VolumeSketch} over the volumes of an ExampleValue column in a single pass.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("restriction")
+public class VolumeSketchCreatorNodeModel extends WebUINodeModel<VolumeSketchCreatorNodeSettings> {
+
+    private static final int BATCH_SIZE = 1024;
+
+    VolumeSketchCreatorNodeModel(final WebUINodeConfiguration configuration) {
+        super(configuration, VolumeSketchCreatorNodeSettings.class);
+    }
+
+    @Override
+    protected PortObject[] execute( //
+        final PortObject[] inObjects, //
+        final ExecutionContext exec, //
+        final VolumeSketchCreatorNodeSettings modelSettings //
+    ) throws Exception {
+        final var table = (BufferedDataTable)inObjects[0];
+        final int columnIndex = findColumnIndex(table.getDataTableSpec(), modelSettings);
+        final var sketch = new VolumeSketch(modelSettings.k);
+
+        final long numRows = table.size();
+        final var volumes = new double[BATCH_SIZE];
+        long rowIndex = 0;
+        try (final var reader = new ExampleValueBatchReader(table, columnIndex)) {
+            int numRead;
+            while ((numRead = reader.read(null, null, null, volumes, 0, BATCH_SIZE)) > 0) {
+                for (int i = 0; i < numRead; i++) {
+                    // missing values are NaN, which the sketch ignores
+                    sketch.update(volumes[i]);
+                }
+                rowIndex += numRead;
+                exec.checkCanceled();
+                exec.setProgress(rowIndex / (double)numRows);
+            }
+        }
+
+        return new PortObject[]{new VolumeSketchPortObject(sketch)};
+    }
+
+    @Override
+    protected PortObjectSpec[] configure(final PortObjectSpec[] inSpecs,
+        final VolumeSketchCreatorNodeSettings modelSettings) throws InvalidSettingsException {
+        if (modelSettings.k < 8) {
+            throw new InvalidSettingsException("The accuracy k must be at least 8.");
+        }
+        findColumnIndex((DataTableSpec)inSpecs[0], modelSettings);
+        return new PortObjectSpec[]{new VolumeSketchPortObjectSpec()};
+    }
+
+    private static int findColumnIndex(final DataTableSpec spec, final VolumeSketchCreatorNodeSettings modelSettings)
+        throws InvalidSettingsException {
+        if (modelSettings.column == null || modelSettings.column.isBlank()) {
+            for (int i = 0; i < spec.getNumColumns(); i++) {
+                if (spec.getColumnSpec(i).getType().isCompatible(ExampleDataValue.class)) {
+                    return i;
+                }
+            }
+            throw new InvalidSettingsException("The input table does not contain an ExampleValue column.");
+        }
+
+        final int columnIndex = spec.findColumnIndex(modelSettings.column);
+        if (columnIndex < 0) {
+            throw new InvalidSettingsException(
+                "The column '" + modelSettings.column + "' does not exist in the input table.");
+        }
+        if (!spec.getColumnSpec(columnIndex).getType().isCompatible(ExampleDataValue.class)) {
+            throw new InvalidSettingsException(
+                "The column '" + modelSettings.column + "' is not an ExampleValue column.");
+        }
+        return columnIndex;
+    }
+}
@@ -1,7 +1,19 @@
+import logging
+import math
+from statistics import NormalDist
+
 import knime.extension as knext
 import knime.ports.boundingbox as bb
+from execution_profiling import PhaseProfiler, ProfilingSettings
 
+import numpy as np
 import pyarrow as pa
+import pyarrow.compute as pc
+
+# the volume sketch nodes are registered when their module is imported
+import volume_sketch_nodes  # noqa: F401
+
+LOGGER = logging.getLogger(__name__)
 
 # get the port type registered for our Java BoundingBoxPortObject
 bounding_box_port_type = knext.nodes.get_port_type_for_id(
@@ -11,6 +23,111 @@ bounding_box_port_type = knext.nodes.get_port_type_for_id(
 def is_numeric(c: knext.Column):
     return c.ktype in [knext.int32(), knext.int64(), knext.double()]
 
+
+class _PointReservoir:
+    """
+    Uniform random sample of a fixed number of 3D points from a stream of point batches
+    (reservoir sampling, Algorithm R, vectorized per batch). Each sampled point remembers
+    the index of the batch it came from.
+    """
+
+    def __init__(self, capacity: int, rng: np.random.Generator):
+        self._rng = rng
+        self._points = np.empty((capacity, 3))
+        self._batch_idx = np.empty(capacity, dtype=np.int64)
+        self._batch_sizes = []
+        self._size = 0
+        self._seen = 0
+
+    @property
+    def points(self) -> np.ndarray:
+        return self._points[: self._size]
+
+    @property
+    def batch_idx(self) -> np.ndarray:
+        return self._batch_idx[: self._size]
+
+    @property
+    def batch_sizes(self) -> np.ndarray:
+        """Number of points that were offered per batch, indexed like batch_idx"""
+        return np.asarray(self._batch_sizes, dtype=np.float64)
+
+    @property
+    def seen(self) -> int:
+        return self._seen
+
+    def add(self, points: np.ndarray):
+        batch_idx = len(self._batch_sizes)
+        self._batch_sizes.append(len(points))
+
+        capacity = len(self._points)
+        take = min(capacity - self._size, len(points))
+        self._points[self._size : self._size + take] = points[:take]
+        self._batch_idx[self._size : self._size + take] = batch_idx
+        self._size += take
+
+        rest = points[take:]
+        if len(rest) > 0:
+            # the i-th point of the stream replaces a random slot with probability capacity / (i + 1)
+            stream_idx = self._seen + take + np.arange(len(rest))
+            slots = self._rng.integers(0, stream_idx + 1)
+            keep = slots < capacity
+            self._points[slots[keep]] = rest[keep]
+            self._batch_idx[slots[keep]] = batch_idx
+        self._seen += len(points)
+
+
+def _to_points(table: pa.Table, columns) -> np.ndarray:
+    """Stack the given numeric columns into an (n, 3) float array, dropping rows with missing values."""
+    points = np.column_stack(
+        [
+            table.column(c).to_numpy(zero_copy_only=False).astype(np.float64)
+            for c in columns
+        ]
+    )
+    return points[~np.isnan(points).any(axis=1)]
+
+
+def _rank_errors(
+    reservoir: _PointReservoir, corner: np.ndarray, batch_fraction: float, z: float
+) -> np.ndarray:
+    """
+    Estimate the rank error of each coordinate of a corner that was computed from the reservoir.
+
+    Whole batches are read, so the sample is a two-stage cluster sample. Rows of one batch tend
+    to be similar, e.g. if the table was ingested in spatially ordered chunks, and the variance
+    of the estimated rank is therefore dominated by how much the batches differ from each other.
+    It is estimated from the per-batch fractions of points below the corner (ultimate cluster
+    estimator), plus the variance of sub-sampling the read points into the reservoir.
+    Treating the stratified batch sample as a simple random sample of batches is conservative.
+
+    Returns NaN for all coordinates if fewer than two batches contributed to the sample.
+    """
+    points = reservoir.points
+    batch_idx = reservoir.batch_idx
+    batch_sizes = reservoir.batch_sizes
+    num_batches = len(batch_sizes)
+    counts = np.bincount(batch_idx, minlength=num_batches)
+    sampled = counts > 0
+    k = np.count_nonzero(sampled)
+    if k < 2:
+        return np.full(len(corner), np.nan)
+
+    n = len(points)
+    weights = batch_sizes[sampled] / batch_sizes[sampled].mean()
+    errors = []
+    for c, value in enumerate(corner):
+        is_below = (points[:, c] <= value).astype(np.float64)
+        below = np.bincount(batch_idx, weights=is_below, minlength=num_batches)
+        fractions = below[sampled] / counts[sampled]
+        rank = np.sum(weights * fractions) / np.sum(weights)
+        between_batches = np.sum((weights * (fractions - rank)) ** 2) / (k * (k - 1))
+        within_sample = rank * (1 - rank) / n * (1 - n / reservoir.seen)
+        variance = (1 - batch_fraction) * between_batches + within_sample
+        errors.append(z * math.sqrt(variance))
+    return np.asarray(errors)
+
+
 @knext.node(
     name="BoundingBox Extender",
     node_type=knext.NodeType.MANIPULATOR,
@@ -56,30 +173,290 @@ class BoundingBoxExtender(knext.PythonNode):
         port_index=1,
     )
 
+    approximate = knext.BoolParameter(
+        "Approximate",
+        """Estimate the bounding box from a sample of the table instead of scanning all rows.
+        The estimated box is trimmed to the configured percentiles, so that outliers do not
+        inflate it. The error bounds of the estimate are provided as flow variables: the rank
+        error of each corner coordinate (approximate.min.x.rank_error etc.) and the interval that
+        contains the true percentile at 95% confidence (approximate.min.x.lower_bound and
+        approximate.min.x.upper_bound etc.). The rank errors are missing if fewer than two
+        batches were read.""",
+        default_value=False,
+        since_version="5.7.0",
+        is_advanced=True,
+    )
+
+    batch_fraction = knext.DoubleParameter(
+        "Fraction of batches",
+        """The fraction of the table's batches that is read. The table is split into strata of
+        consecutive batches and one random batch is read from each stratum.""",
+        default_value=0.1,
+        min_value=0.0001,
+        max_value=1.0,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [True]), knext.Effect.SHOW)
+
+    sample_size = knext.IntParameter(
+        "Sample size",
+        "The maximum number of points that are kept in the uniform sample of the read batches.",
+        default_value=100000,
+        min_value=100,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [True]), knext.Effect.SHOW)
+
+    lower_percentile = knext.DoubleParameter(
+        "Lower percentile",
+        "The percentile of each coordinate that is used as lower corner of the bounding box.",
+        default_value=1.0,
+        min_value=0.0,
+        max_value=50.0,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [True]), knext.Effect.SHOW)
+
+    upper_percentile = knext.DoubleParameter(
+        "Upper percentile",
+        "The percentile of each coordinate that is used as upper corner of the bounding box.",
+        default_value=99.0,
+        min_value=50.0,
+        max_value=100.0,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [True]), knext.Effect.SHOW)
+
+    use_seed = knext.BoolParameter(
+        "Use random seed",
+        "Use the given seed to sample the batches and points, so that the same input always "
+        "results in the same bounding box.",
+        default_value=False,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [True]), knext.Effect.SHOW)
+
+    seed = knext.IntParameter(
+        "Random seed",
+        "The seed of the random number generator used for sampling.",
+        default_value=0,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(
+        knext.And(knext.OneOf(approximate, [True]), knext.OneOf(use_seed, [True])),
+        knext.Effect.SHOW,
+    )
+
+    incremental = knext.BoolParameter(
+        "Incremental",
+        """Use this when the input table only grows by appending rows, e.g. in a loop that
+        accumulates chunks of points. The output bounding box remembers how many rows it was
+        computed on, so that in the next run only the appended rows are read. If the input
+        bounding box was computed on a different table, i.e. the table got shorter or the RowID
+        of its last known row changed, all rows are read. As in the other modes, the output
+        still contains the input bounding box in that case.""",
+        default_value=False,
+        since_version="5.7.0",
+        is_advanced=True,
+    ).rule(knext.OneOf(approximate, [False]), knext.Effect.SHOW)
+
+    profiling = ProfilingSettings()
+
+    # confidence level of the reported error bounds is 1 - _ERROR_BOUND_ALPHA
+    _ERROR_BOUND_ALPHA = 0.05
+
     def configure(self, config_context, bounding_box_spec, table_spec):
         return bb.BoundingBoxSpec()
 
     def execute(self, exec_context, bounding_box: bb.BoundingBoxPortObject, table):
-        df = table.to_pandas([self.x_column, self.y_column, self.z_column])
-
-        for _, row in df.iterrows():
-            if row[self.x_column] < bounding_box.min.x:
-                bounding_box.min.x = row[self.x_column]
-            if row[self.x_column] > bounding_box.max.x:
-                bounding_box.max.x = row[self.x_column]
+        with PhaseProfiler(self.profiling) as self._profiler:
+            if bounding_box.decode_seconds is not None:
+                self._profiler.add(
+                    "decode_object",
+                    bounding_box.decode_seconds,
+                    begin=bounding_box.decode_begin,
+                )
 
-            if row[self.y_column] < bounding_box.min.y:
-                bounding_box.min.y = row[self.y_column]
-            if row[self.y_column] > bounding_box.max.y:
-                bounding_box.max.y = row[self.y_column]
+            columns = [self.x_column, self.y_column, self.z_column]
+            if self.incremental and not self.approximate:
+                self._extend_incrementally(exec_context, bounding_box, table, columns)
+            else:
+                if self.approximate:
+                    self._extend_approximately(
+                        exec_context, bounding_box, table, columns
+                    )
+                else:
+                    for batch in table.batches():
+                        with self._profiler.phase("read"):
+                            data = batch[columns].to_pyarrow()
+                        with self._profiler.phase("compute"):
+                            self._extend(bounding_box, data, columns)
 
-            if row[self.z_column] < bounding_box.min.z:
-                bounding_box.min.z = row[self.z_column]
-            if row[self.z_column] > bounding_box.max.z:
-                bounding_box.max.z = row[self.z_column]
+                # the box no longer corresponds to the first rows of a known table
+                bounding_box.row_count = None
+                bounding_box.last_row_key = None
 
+            self._profiler.report(exec_context, "BoundingBox Extender")
         return bounding_box
 
+    @staticmethod
+    def _extend(bounding_box: bb.BoundingBoxPortObject, data: pa.Table, columns):
+        for corner_attr, column in zip(["x", "y", "z"], columns):
+            min_max = pc.min_max(data.column(column))
+            lower = min_max["min"].as_py()
+            upper = min_max["max"].as_py()
+            if lower is None:
+                # all values missing or empty batch
+                continue
+            if lower < getattr(bounding_box.min, corner_attr):
+                setattr(bounding_box.min, corner_attr, lower)
+            if upper > getattr(bounding_box.max, corner_attr):
+                setattr(bounding_box.max, corner_attr, upper)
+
+    def _extend_incrementally(
+        self, exec_context, bounding_box: bb.BoundingBoxPortObject, table, columns
+    ):
+        # boxes without row count, e.g. from the Bounding Box Creator, don't cover any table rows yet
+        start = bounding_box.row_count or 0
+        if start <= table.num_rows and self._scan_from(
+            bounding_box, table, columns, start
+        ):
+            LOGGER.info(f"Extended bounding box by {table.num_rows - start} appended rows")
+            return
+
+        exec_context.set_warning(
+            "The input bounding box was computed on a different table, "
+            "extended it by all rows"
+        )
+        self._scan_from(bounding_box, table, columns, 0)
+        LOGGER.info(f"Extended bounding box by all {table.num_rows} rows")
+
+    def _scan_from(
+        self, bounding_box: bb.BoundingBoxPortObject, table, columns, start: int
+    ) -> bool:
+        """
+        Extend the bounding box by the rows of the table starting at the given row index and
+        update its row count and last RowID. Batches before the one that contains the last
+        known row are skipped without reading them.
+
+        Returns False without modifying the box if the RowID of the last known row does not match.
+        """
+        offset = 0
+        for batch in table.batches():
+            batch_end = offset + batch.num_rows
+            if batch_end < start:
+                offset = batch_end
+                continue
+
+            with self._profiler.phase("read"):
+                # only the coordinates, the RowID is always included as first column
+                data = batch[columns].to_pyarrow()
+            row_keys = data.column(0)
+            if start > 0 and offset < start:
+                if row_keys[start - 1 - offset].as_py() != bounding_box.last_row_key:
+                    return False
+            with self._profiler.phase("compute"):
+                appended = data.slice(max(start - offset, 0))
+                self._extend(bounding_box, appended.select(columns), columns)
+            if batch.num_rows > 0:
+                bounding_box.last_row_key = row_keys[-1].as_py()
+            offset = batch_end
+
+        bounding_box.row_count = offset
+        return True
+
+    def _extend_approximately(
+        self, exec_context, bounding_box: bb.BoundingBoxPortObject, table, columns
+    ):
+        rng = np.random.default_rng(self.seed if self.use_seed else None)
+        reservoir = _PointReservoir(self.sample_size, rng)
+        stride = max(1, round(1.0 / self.batch_fraction))
+
+        def sample_batch(batch, stratum_weight: float):
+            with self._profiler.phase("read"):
+                data = batch[columns].to_pyarrow()
+            with self._profiler.phase("compute"):
+                points = _to_points(data, columns)
+                if stratum_weight < 1.0:
+                    # keep every row's inclusion probability at 1 / stride
+                    points = points[rng.random(len(points)) < stratum_weight]
+                reservoir.add(points)
+
+        num_batches = 0
+        candidate = None
+        stratum_size = 0
+        for batch in table.batches():
+            num_batches += 1
+            stratum_size += 1
+            # pick one batch uniformly per stratum without knowing the number of batches upfront,
+            # so that the last, possibly shorter, stratum is sampled as well
+            if rng.integers(stratum_size) == 0:
+                candidate = batch
+            if stratum_size == stride:
+                sample_batch(candidate, 1.0)
+                candidate = None
+                stratum_size = 0
+            if exec_context.is_canceled():
+                raise RuntimeError("Execution canceled")
+        if candidate is not None:
+            sample_batch(candidate, stratum_size / stride)
+        num_read = len(reservoir.batch_sizes)
+
+        sample = reservoir.points
+        if len(sample) == 0:
+            exec_context.set_warning("No points were sampled, the bounding box is unchanged")
+            return
+
+        lower_q = self.lower_percentile / 100.0
+        upper_q = self.upper_percentile / 100.0
+        confidence = 1 - self._ERROR_BOUND_ALPHA
+        z = NormalDist().inv_cdf(1 - self._ERROR_BOUND_ALPHA / 2)
+        with self._profiler.phase("compute"):
+            lower = np.quantile(sample, lower_q, axis=0)
+            upper = np.quantile(sample, upper_q, axis=0)
+            sampled_fraction = num_read / num_batches
+            errors = {
+                "min": (lower_q, _rank_errors(reservoir, lower, sampled_fraction, z)),
+                "max": (upper_q, _rank_errors(reservoir, upper, sampled_fraction, z)),
+            }
+
+        self._extend(
+            bounding_box,
+            pa.table({c: [lower[i], upper[i]] for i, c in enumerate(columns)}),
+            columns,
+        )
+
+        flow_variables = exec_context.flow_variables
+        flow_variables["approximate.batches_read"] = num_read
+        flow_variables["approximate.batches_total"] = num_batches
+        flow_variables["approximate.confidence"] = confidence
+        for corner, (q, rank_errors) in errors.items():
+            for i, corner_attr in enumerate(["x", "y", "z"]):
+                rank_error = float(rank_errors[i])
+                if math.isnan(rank_error):
+                    bounds = [math.nan, math.nan]
+                else:
+                    bounds = np.quantile(
+                        sample[:, i],
+                        [max(q - rank_error, 0.0), min(q + rank_error, 1.0)],
+                    ).tolist()
+                prefix = f"approximate.{corner}.{corner_attr}"
+                flow_variables[f"{prefix}.rank_error"] = rank_error
+                flow_variables[f"{prefix}.lower_bound"] = bounds[0]
+                flow_variables[f"{prefix}.upper_bound"] = bounds[1]
+
+        max_rank_error = max(float(np.max(e)) for _, e in errors.values())
+        LOGGER.info(
+            f"Approximate bounding box from {len(sample)} of {reservoir.seen} points in "
+            f"{num_read} of {num_batches} batches: rank error <= {max_rank_error:.4f} "
+            f"({confidence:.0%} confidence)"
+        )
+        if math.isnan(max_rank_error):
+            exec_context.set_warning(
+                "Fewer than two batches were sampled, the error of the approximate "
+                "bounding box cannot be estimated"
+            )
+
 
 @knext.node(
     name="BoundingBox Volume",
@@ -92,16 +469,31 @@ class BoundingBoxExtender(knext.PythonNode):
 )
 @knext.output_table("Volume Table", "Table with box volume")
 class BoundingBoxVolume(knext.PythonNode):
+    profiling = ProfilingSettings()
+
     def configure(self, config_context, spec: bb.BoundingBoxSpec):
         return knext.Schema.from_columns([
             knext.Column(knext.double(), "Volume")
         ])
 
     def execute(self, exec_context, box: bb.BoundingBoxPortObject):
-        volume = (
-            (box.max.x - box.min.x) * (box.max.y - box.min.y) * (box.max.z - box.min.z)
-        )
-        arr = pa.table({
-            "Volume": [volume]
-        })
-        return knext.Table.from_pyarrow(arr)
+        with PhaseProfiler(self.profiling) as self._profiler:
+            if box.decode_seconds is not None:
+                self._profiler.add(
+                    "decode_object", box.decode_seconds, begin=box.decode_begin
+                )
+
+            with self._profiler.phase("compute"):
+                volume = (
+                    (box.max.x - box.min.x)
+                    * (box.max.y - box.min.y)
+                    * (box.max.z - box.min.z)
+                )
+            with self._profiler.phase("from_pyarrow"):
+                arr = pa.table({
+                    "Volume": [volume]
+                })
+                output = knext.Table.from_pyarrow(arr)
+
+            self._profiler.report(exec_context, "BoundingBox Volume")
+        return output
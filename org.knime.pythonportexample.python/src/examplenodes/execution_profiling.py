@@ -0,0 +1,176 @@
+import json
+import logging
+import os
+import sys
+import time
+import tracemalloc
+from contextlib import contextmanager
+
+import knime.extension as knext
+import pyarrow as pa
+
+LOGGER = logging.getLogger(__name__)
+
+try:
+    import resource
+except ImportError:
+    # not available on Windows
+    resource = None
+
+
+@knext.parameter_group(label="Profiling", since_version="5.7.0", is_advanced=True)
+class ProfilingSettings:
+    """
+    Measure how much time and memory each phase of the node execution needs.
+    """
+
+    enabled = knext.BoolParameter(
+        "Profile execution",
+        """Measure the wall-clock time and the memory high-water marks of each execution phase,
+        e.g. reading the input table, computing and creating the output. The memory is tracked
+        separately for Python objects and for Arrow buffers, such as the tables returned by
+        to_pyarrow(), because Arrow allocates outside of the Python allocator. The results are
+        written to the log and provided as flow variables named profile.PHASE.seconds,
+        profile.PHASE.peak_memory_bytes and profile.PHASE.arrow_peak_memory_bytes. Tracking
+        the Python memory slows down the execution.""",
+        default_value=False,
+    )
+
+    trace_file = knext.StringParameter(
+        "Trace file",
+        """Optional path of a JSON file to which the phases are written in the Chrome trace event
+        format, which can be opened e.g. in chrome://tracing or Perfetto. The file is overwritten
+        on each execution. Leave empty to not write a trace.""",
+        default_value="",
+    ).rule(knext.OneOf(enabled, [True]), knext.Effect.SHOW)
+
+
+class PhaseProfiler:
+    """
+    Accumulates wall-clock time and memory high-water marks per named execution phase.
+    Phases can be entered several times, e.g. once per batch, and must not be nested.
+    If disabled, entering a phase does nothing.
+
+    Use the profiler as context manager around the whole execution, so that memory tracing
+    is stopped even if the execution fails or is canceled.
+
+    Python memory is traced with tracemalloc, which does not see Arrow buffers. For those,
+    the allocations of the default Arrow memory pool are sampled at the start and end of each
+    phase. The pool only knows its all-time maximum, so the Arrow peak of a phase is exact
+    when the phase raised that maximum and otherwise a lower bound.
+    """
+
+    def __init__(self, settings: ProfilingSettings):
+        self._enabled = settings.enabled
+        self._trace_file = settings.trace_file
+        self._seconds = {}
+        self._peak_memory = {}
+        self._arrow_peak_memory = {}
+        self._events = []
+        self._start = time.perf_counter()
+        self._started_tracing = False
+
+    def __enter__(self) -> "PhaseProfiler":
+        self._started_tracing = self._enabled and not tracemalloc.is_tracing()
+        if self._started_tracing:
+            tracemalloc.start()
+        return self
+
+    def __exit__(self, exc_type, exc_value, traceback):
+        if self._started_tracing:
+            tracemalloc.stop()
+            self._started_tracing = False
+
+    @contextmanager
+    def phase(self, name: str):
+        if not self._enabled:
+            yield
+            return
+        pool = pa.default_memory_pool()
+        arrow_begin = pool.bytes_allocated()
+        arrow_max_begin = pool.max_memory()
+        tracemalloc.reset_peak()
+        begin = time.perf_counter()
+        try:
+            yield
+        finally:
+            end = time.perf_counter()
+            _, peak = tracemalloc.get_traced_memory()
+            arrow_max_end = pool.max_memory()
+            if arrow_max_end > arrow_max_begin:
+                arrow_peak = arrow_max_end
+            else:
+                arrow_peak = max(arrow_begin, pool.bytes_allocated())
+            self.add(name, end - begin, peak, begin, arrow_peak)
+
+    def add(
+        self,
+        name: str,
+        seconds: float,
+        peak_memory: int = 0,
+        begin: float = None,
+        arrow_peak_memory: int = 0,
+    ):
+        """
+        Record a phase that was measured elsewhere, e.g. by a port object converter. Its trace
+        event is only written if begin, the time.perf_counter() at its start, is known.
+        """
+        if not self._enabled:
+            return
+        self._seconds[name] = self._seconds.get(name, 0.0) + seconds
+        self._peak_memory[name] = max(self._peak_memory.get(name, 0), peak_memory)
+        self._arrow_peak_memory[name] = max(
+            self._arrow_peak_memory.get(name, 0), arrow_peak_memory
+        )
+        if begin is None:
+            return
+        self._events.append(
+            {
+                "name": name,
+                "ph": "X",
+                "pid": os.getpid(),
+                "tid": 0,
+                "ts": (begin - self._start) * 1e6,
+                "dur": seconds * 1e6,
+                "args": {
+                    "peak_memory_bytes": peak_memory,
+                    "arrow_peak_memory_bytes": arrow_peak_memory,
+                },
+            }
+        )
+
+    def report(self, exec_context, node_name: str):
+        """
+        Log the phases, provide them as flow variables and write the trace file if configured.
+        """
+        if not self._enabled:
+            return
+
+        for name, seconds in self._seconds.items():
+            exec_context.flow_variables[f"profile.{name}.seconds"] = seconds
+            exec_context.flow_variables[f"profile.{name}.peak_memory_bytes"] = int(
+                self._peak_memory[name]
+            )
+            exec_context.flow_variables[f"profile.{name}.arrow_peak_memory_bytes"] = int(
+                self._arrow_peak_memory[name]
+            )
+        summary = ", ".join(
+            f"{name}: {seconds:.3f}s / {self._peak_memory[name] / 2**20:.1f}MiB Python"
+            f" / {self._arrow_peak_memory[name] / 2**20:.1f}MiB Arrow"
+            for name, seconds in self._seconds.items()
+        )
+        if resource is not None:
+            # ru_maxrss is reported in bytes on macOS and in KiB on Linux
+            max_rss = resource.getrusage(resource.RUSAGE_SELF).ru_maxrss
+            if sys.platform != "darwin":
+                max_rss *= 2**10
+            summary += f" (process max RSS: {max_rss / 2**20:.1f}MiB)"
+        LOGGER.info(f"{node_name} execution profile: {summary}")
+
+        if self._trace_file:
+            # phases measured elsewhere may have started before this profiler
+            first_ts = min((e["ts"] for e in self._events), default=0.0)
+            for event in self._events:
+                event["ts"] -= first_ts
+            with open(self._trace_file, "w") as f:
+                json.dump({"traceEvents": self._events}, f)
@@ -0,0 +1,104 @@
+import knime.extension as knext
+import knime.ports.volumesketch as vs
+
+import pyarrow as pa
+
+# get the port type registered for our Java VolumeSketchPortObject
+volume_sketch_port_type = knext.nodes.get_port_type_for_id(
+    "org.knime.pythonportexample.core.VolumeSketchPortObject"
+)
+
+
+@knext.node(
+    name="Volume Sketch Merger",
+    node_type=knext.NodeType.MANIPULATOR,
+    icon_path="icon.png",
+    category="/community",
+)
+@knext.input_port(
+    "First Volume Sketch", "A volume sketch, e.g. of one partition", volume_sketch_port_type
+)
+@knext.input_port(
+    "Second Volume Sketch",
+    "Another volume sketch, e.g. of the next partition or loop iteration",
+    volume_sketch_port_type,
+)
+@knext.output_port(
+    "Merged Volume Sketch",
+    "A volume sketch summarizing the values of both input sketches",
+    volume_sketch_port_type,
+)
+class VolumeSketchMerger(knext.PythonNode):
+    """
+    Merge two volume sketches into one that summarizes the values of both
+    """
+
+    def configure(self, config_context, first_spec, second_spec):
+        return vs.VolumeSketchSpec()
+
+    def execute(
+        self,
+        exec_context,
+        first: vs.VolumeSketchPortObject,
+        second: vs.VolumeSketchPortObject,
+    ):
+        first.sketch.merge(second.sketch)
+        return first
+
+
+@knext.node(
+    name="Volume Percentiles",
+    node_type=knext.NodeType.MANIPULATOR,
+    icon_path="icon.png",
+    category="/community",
+)
+@knext.input_port(
+    "Volume Sketch", "A volume sketch port object", volume_sketch_port_type
+)
+@knext.output_table("Percentile Table", "Table with the estimated volume percentiles")
+class VolumePercentiles(knext.PythonNode):
+    """
+    Estimate volume percentiles from a volume sketch without rescanning the table
+    """
+
+    percentiles = knext.StringParameter(
+        "Percentiles",
+        "Comma separated list of the percentiles in [0, 100] that are estimated.",
+        default_value="50, 90, 95, 99",
+    )
+
+    def _parse_percentiles(self):
+        try:
+            percentiles = [float(p) for p in self.percentiles.split(",") if p.strip()]
+        except ValueError:
+            raise knext.InvalidParametersError(
+                f"Percentiles must be a comma separated list of numbers: '{self.percentiles}'"
+            )
+        if not percentiles or any(p < 0 or p > 100 for p in percentiles):
+            raise knext.InvalidParametersError(
+                "Percentiles must be a non-empty list of numbers in [0, 100]"
+            )
+        return percentiles
+
+    def configure(self, config_context, spec: vs.VolumeSketchSpec):
+        self._parse_percentiles()
+        return knext.Schema.from_columns(
+            [
+                knext.Column(knext.double(), "Percentile"),
+                knext.Column(knext.double(), "Volume"),
+                knext.Column(knext.double(), "Rank Error"),
+            ]
+        )
+
+    def execute(self, exec_context, sketch_port: vs.VolumeSketchPortObject):
+        percentiles = self._parse_percentiles()
+        sketch = sketch_port.sketch
+        volumes = sketch.quantiles([p / 100.0 for p in percentiles])
+        arr = pa.table(
+            {
+                "Percentile": percentiles,
+                "Volume": volumes,
+                "Rank Error": [sketch.normalized_rank_error] * len(percentiles),
+            }
+        )
+        return knext.Table.from_pyarrow(arr)
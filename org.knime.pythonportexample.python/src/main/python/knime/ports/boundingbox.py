@@ -1,8 +1,12 @@
 import knime.extension as knext
 import knime.extension.ports as kp
-from typing import Sequence
+import logging
+import time
+from typing import Optional, Sequence
 from dataclasses import dataclass
 
+LOGGER = logging.getLogger(__name__)
+
 
 @dataclass()
 class Point3D:
@@ -34,16 +38,49 @@ class BoundingBoxSpec(knext.PortObjectSpec):
         return BoundingBoxSpec()
 
 
+def _to_list(bounding_box: "BoundingBoxPortObject") -> list:
+    arr = bounding_box.min.to_list() + bounding_box.max.to_list()
+    if bounding_box.row_count is not None:
+        arr += [bounding_box.row_count, bounding_box.last_row_key]
+    return arr
+
+
+def _from_list(spec: BoundingBoxSpec, arr) -> "BoundingBoxPortObject":
+    if not isinstance(arr, list) or len(arr) not in (6, 8):
+        raise ValueError("Expected JSON array of 6 or 8 elements for bounding box")
+    min_pt = [arr[0], arr[1], arr[2]]
+    max_pt = [arr[3], arr[4], arr[5]]
+    if len(arr) == 8:
+        return BoundingBoxPortObject(spec, min_pt, max_pt, arr[6], arr[7])
+    return BoundingBoxPortObject(spec, min_pt, max_pt)
+
+
 class BoundingBoxPortObject(knext.PortObject):
+    """
+    A 3D bounding box. It optionally remembers on how many rows of a table it was
+    computed and the RowID of the last of these rows, so that it can be extended
+    incrementally when rows are appended to that table.
+
+    decode_begin and decode_seconds hold when (time.perf_counter()) and how long decoding
+    the box from Java took, so that nodes can include it in their execution profile. Both
+    are None if the box was not decoded from Java.
+    """
+
     def __init__(
         self,
         spec: BoundingBoxSpec,
         min_point: Sequence[float],
         max_point: Sequence[float],
+        row_count: Optional[int] = None,
+        last_row_key: Optional[str] = None,
     ):
         super().__init__(spec)
         self._min = Point3D.from_list(min_point)
         self._max = Point3D.from_list(max_point)
+        self.row_count = row_count
+        self.last_row_key = last_row_key
+        self.decode_begin = None
+        self.decode_seconds = None
 
     @property
     def min(self) -> Point3D:
@@ -59,7 +96,7 @@ class BoundingBoxPortObject(knext.PortObject):
     def serialize(self) -> bytes:
         import json
 
-        return json.dumps(self.min.to_list() + self.max.to_list()).encode()
+        return json.dumps(_to_list(self)).encode()
 
     @classmethod
     def deserialize(
@@ -67,13 +104,7 @@ class BoundingBoxPortObject(knext.PortObject):
     ) -> "BoundingBoxPortObject":
         import json
 
-        arr = json.loads(storage.decode())
-        if not isinstance(arr, list) or len(arr) != 6:
-            raise ValueError("Expected JSON array of 6 elements for bounding box")
-        min_pt = [arr[0], arr[1], arr[2]]
-        max_pt = [arr[3], arr[4], arr[5]]
-
-        return cls(spec, min_pt, max_pt)
+        return _from_list(spec, json.loads(storage.decode()))
 
 
 class BoundingBoxPortConverter(
@@ -107,21 +138,24 @@ class BoundingBoxPortConverter(
     ):
         import json
 
-        arr = json.loads(intermediate_representation.getStringRepresentation())
-        if not isinstance(arr, list) or len(arr) != 6:
-            raise ValueError("Expected JSON array of 6 elements for bounding box")
-        min_pt = [arr[0], arr[1], arr[2]]
-        max_pt = [arr[3], arr[4], arr[5]]
-        return BoundingBoxPortObject(spec, min_pt, max_pt)
+        begin = time.perf_counter()
+        bounding_box = _from_list(
+            spec, json.loads(intermediate_representation.getStringRepresentation())
+        )
+        bounding_box.decode_begin = begin
+        bounding_box.decode_seconds = time.perf_counter() - begin
+        return bounding_box
 
     def encode_object(
         self, port_object: BoundingBoxPortObject
     ) -> kp.StringIntermediateRepresentation:
         import json
 
-        return kp.StringIntermediateRepresentation(
-            json.dumps(port_object.min.to_list() + port_object.max.to_list())
-        )
+        begin = time.perf_counter()
+        encoded = kp.StringIntermediateRepresentation(json.dumps(_to_list(port_object)))
+        # encoding happens after the node's execute() returned, so it can only be logged
+        LOGGER.debug(f"Encoded bounding box in {time.perf_counter() - begin:.6f}s")
+        return encoded
 
     def encode_spec(self, spec):
         # Spec doesn't need to be serialized
@@ -0,0 +1,253 @@
+import knime.extension as knext
+import knime.extension.ports as kp
+import base64
+import struct
+
+import numpy as np
+
+
+class VolumeSketch:
+    """
+    Mergeable KLL quantile sketch over a stream of doubles.
+
+    Mirrors org.knime.pythonportexample.core.VolumeSketch on the Java side, including its
+    binary format, so that sketches can be built and merged in Java as well as in Python.
+
+    The random generator that decides which items are promoted during compaction is seeded,
+    so the same values always result in the same sketch. It differs from the Java generator,
+    so sketches of the same values built in Java and Python differ within the rank error.
+    """
+
+    DEFAULT_K = 200
+    DEFAULT_SEED = 0
+    _MIN_LEVEL_CAPACITY = 8
+    _FORMAT_VERSION = 1
+    _HEADER = struct.Struct(">iiqddi")
+    _LEVEL_SIZE = struct.Struct(">i")
+
+    def __init__(self, k: int = DEFAULT_K, seed: int = DEFAULT_SEED):
+        if k < self._MIN_LEVEL_CAPACITY:
+            raise ValueError(
+                f"k must be at least {self._MIN_LEVEL_CAPACITY} but was {k}"
+            )
+        self._k = k
+        self._n = 0
+        self._min = float("inf")
+        self._max = float("-inf")
+        self._levels = [np.empty(0)]
+        self._rng = np.random.default_rng(seed)
+
+    @property
+    def k(self) -> int:
+        return self._k
+
+    @property
+    def n(self) -> int:
+        return self._n
+
+    @property
+    def min(self) -> float:
+        return float("nan") if self._n == 0 else self._min
+
+    @property
+    def max(self) -> float:
+        return float("nan") if self._n == 0 else self._max
+
+    @property
+    def normalized_rank_error(self) -> float:
+        return 2.296 / self._k**0.9723
+
+    def __repr__(self):
+        return f"VolumeSketch{{n={self._n}, k={self._k}, min={self.min}, max={self.max}}}"
+
+    def update(self, values):
+        """Add a single value or an array of values, NaNs are ignored."""
+        values = np.asarray(values, dtype=np.float64).ravel()
+        values = values[~np.isnan(values)]
+        if len(values) == 0:
+            return
+        self._n += len(values)
+        self._min = min(self._min, float(values.min()))
+        self._max = max(self._max, float(values.max()))
+        self._levels[0] = np.concatenate([self._levels[0], values])
+        self._compress()
+
+    def merge(self, other: "VolumeSketch"):
+        """Merge the values summarized by another sketch into this one, other is not modified."""
+        if other._k != self._k:
+            raise ValueError(
+                f"Cannot merge sketches with different accuracy (k={self._k} and k={other._k})"
+            )
+        if other._n == 0:
+            return
+        for h, items in enumerate(other._levels):
+            self._append(h, items)
+        self._n += other._n
+        self._min = min(self._min, other._min)
+        self._max = max(self._max, other._max)
+        self._compress()
+
+    def quantiles(self, qs) -> np.ndarray:
+        """Estimate the values at the given quantiles in [0, 1]."""
+        qs = np.asarray(qs, dtype=np.float64)
+        if np.any((qs < 0) | (qs > 1)):
+            raise ValueError("Quantiles must be in [0, 1]")
+        if self._n == 0:
+            return np.full(qs.shape, np.nan)
+
+        values = np.concatenate(self._levels)
+        weights = np.concatenate(
+            [np.full(len(items), 2**h, dtype=np.int64) for h, items in enumerate(self._levels)]
+        )
+        order = np.argsort(values, kind="stable")
+        values = values[order]
+        cumulative_weights = np.cumsum(weights[order])
+
+        idx = np.searchsorted(cumulative_weights, qs * self._n, side="left")
+        result = values[np.minimum(idx, len(values) - 1)]
+        result = np.where(qs == 0, self._min, result)
+        return np.where(qs == 1, self._max, result)
+
+    def quantile(self, q: float) -> float:
+        return float(self.quantiles([q])[0])
+
+    def to_bytes(self) -> bytes:
+        parts = [
+            self._HEADER.pack(
+                self._FORMAT_VERSION,
+                self._k,
+                self._n,
+                self._min,
+                self._max,
+                len(self._levels),
+            )
+        ]
+        for items in self._levels:
+            parts.append(self._LEVEL_SIZE.pack(len(items)))
+            parts.append(items.astype(">f8").tobytes())
+        return b"".join(parts)
+
+    @classmethod
+    def from_bytes(cls, data: bytes) -> "VolumeSketch":
+        version, k, n, min_value, max_value, num_levels = cls._HEADER.unpack_from(data)
+        if version != cls._FORMAT_VERSION:
+            raise ValueError(f"Unsupported volume sketch format version {version}")
+        sketch = cls(k)
+        sketch._n = n
+        sketch._min = min_value
+        sketch._max = max_value
+        offset = cls._HEADER.size
+        sketch._levels = []
+        for _ in range(num_levels):
+            (size,) = cls._LEVEL_SIZE.unpack_from(data, offset)
+            offset += cls._LEVEL_SIZE.size
+            sketch._levels.append(
+                np.frombuffer(data, dtype=">f8", count=size, offset=offset).astype(
+                    np.float64
+                )
+            )
+            offset += 8 * size
+        if not sketch._levels:
+            sketch._levels = [np.empty(0)]
+        return sketch
+
+    def _append(self, level: int, items: np.ndarray):
+        while len(self._levels) <= level:
+            self._levels.append(np.empty(0))
+        self._levels[level] = np.concatenate([self._levels[level], items])
+
+    def _level_capacity(self, level: int) -> int:
+        # capacities shrink geometrically by 2/3 from the top level downwards
+        depth = len(self._levels) - 1 - level
+        return max(self._MIN_LEVEL_CAPACITY, int(np.ceil(self._k * (2 / 3) ** depth)))
+
+    def _compress(self):
+        h = 0
+        while h < len(self._levels):
+            items = self._levels[h]
+            if len(items) >= self._level_capacity(h):
+                items = np.sort(items)
+                # an odd item stays on this level so that the total weight is preserved
+                num_paired = len(items) - len(items) % 2
+                offset = int(self._rng.integers(2))
+                self._append(h + 1, items[offset:num_paired:2])
+                self._levels[h] = items[num_paired:]
+            h += 1
+
+
+class VolumeSketchSpec(knext.PortObjectSpec):
+    def serialize(self) -> dict:
+        # No additional spec data to serialize
+        return {}
+
+    @staticmethod
+    def deserialize(data: dict) -> "VolumeSketchSpec":
+        # No additional spec data to deserialize
+        return VolumeSketchSpec()
+
+
+class VolumeSketchPortObject(knext.PortObject):
+    def __init__(self, spec: VolumeSketchSpec, sketch: VolumeSketch):
+        super().__init__(spec)
+        self._sketch = sketch
+
+    @property
+    def sketch(self) -> VolumeSketch:
+        return self._sketch
+
+    def __repr__(self):
+        return repr(self._sketch)
+
+    def serialize(self) -> bytes:
+        return self._sketch.to_bytes()
+
+    @classmethod
+    def deserialize(
+        cls, spec: VolumeSketchSpec, storage: bytes
+    ) -> "VolumeSketchPortObject":
+        return cls(spec, VolumeSketch.from_bytes(storage))
+
+
+class VolumeSketchPortConverter(
+    kp.PortObjectDecoder[
+        VolumeSketchPortObject,
+        kp.StringIntermediateRepresentation,
+        VolumeSketchSpec,
+        kp.EmptyIntermediateRepresentation,
+    ],
+    kp.PortObjectEncoder[
+        VolumeSketchPortObject,
+        kp.StringIntermediateRepresentation,
+        VolumeSketchSpec,
+        kp.EmptyIntermediateRepresentation,
+    ],
+):
+    """
+    Converter between KNIME Java VolumeSketchPortObject and Python VolumeSketchPortObject.
+    The binary sketch is transferred Base64 encoded.
+    """
+
+    def __init__(self):
+        # call super constructors so that the proper object and spec types get registered
+        kp.PortObjectDecoder.__init__(self, VolumeSketchPortObject, VolumeSketchSpec)
+        kp.PortObjectEncoder.__init__(self, VolumeSketchPortObject, VolumeSketchSpec)
+
+    def decode_spec(self, intermediate_representation):
+        return VolumeSketchSpec()
+
+    def decode_object(
+        self, intermediate_representation: kp.StringIntermediateRepresentation, spec
+    ):
+        data = base64.b64decode(intermediate_representation.getStringRepresentation())
+        return VolumeSketchPortObject(spec, VolumeSketch.from_bytes(data))
+
+    def encode_object(
+        self, port_object: VolumeSketchPortObject
+    ) -> kp.StringIntermediateRepresentation:
+        return kp.StringIntermediateRepresentation(
+            base64.b64encode(port_object.sketch.to_bytes()).decode("ascii")
+        )
+
+    def encode_spec(self, spec):
+        # Spec doesn't need to be serialized
+        return None
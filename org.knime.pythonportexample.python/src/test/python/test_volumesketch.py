@@ -0,0 +1,114 @@
+"""
+Tests of the Python VolumeSketch. Run them in the bundled Python environment, which provides
+knime.extension, e.g. with `python -m unittest discover -s src/test/python`.
+"""
+
+import os
+import sys
+import unittest
+
+import numpy as np
+
+sys.path.insert(
+    0, os.path.join(os.path.dirname(__file__), os.pardir, os.pardir, "main", "python")
+)
+
+from knime.ports.volumesketch import VolumeSketch  # noqa: E402
+
+# A sketch with k=8 of the values 1, 2, 2, 4, 4: 1.0 on level 0 and 2.0, 4.0 on level 1.
+# The same bytes are checked in VolumeSketchTest.java so that the Java and Python formats
+# stay compatible.
+SHARED_SKETCH_HEX = (
+    "00000001"  # format version
+    "00000008"  # k
+    "0000000000000005"  # n
+    "3ff0000000000000"  # min = 1.0
+    "4010000000000000"  # max = 4.0
+    "00000002"  # number of levels
+    "00000001" "3ff0000000000000"  # level 0: [1.0]
+    "00000002" "4000000000000000" "4010000000000000"  # level 1: [2.0, 4.0]
+)
+
+NUM_VALUES = 1_000_000
+
+
+def _shuffled_values(n: int) -> np.ndarray:
+    """The values 0 .. n-1 in random order, so the true rank of value v is v / n"""
+    return np.random.default_rng(42).permutation(n).astype(np.float64)
+
+
+def _create_sketch(values: np.ndarray, seed: int = VolumeSketch.DEFAULT_SEED) -> VolumeSketch:
+    sketch = VolumeSketch(seed=seed)
+    # feed the values in chunks, like the batches of a table
+    for chunk in np.array_split(values, 100):
+        sketch.update(chunk)
+    return sketch
+
+
+class VolumeSketchTest(unittest.TestCase):
+    def assert_rank_error_within_bound(self, sketch: VolumeSketch):
+        qs = np.arange(1, 100) / 100.0
+        ranks = sketch.quantiles(qs) / sketch.n
+        np.testing.assert_array_less(np.abs(ranks - qs), sketch.normalized_rank_error)
+
+    def test_shared_binary_format(self):
+        data = bytes.fromhex(SHARED_SKETCH_HEX)
+        sketch = VolumeSketch.from_bytes(data)
+
+        self.assertEqual(8, sketch.k)
+        self.assertEqual(5, sketch.n)
+        self.assertEqual(1.0, sketch.min)
+        self.assertEqual(4.0, sketch.max)
+        self.assertEqual(2.0, sketch.quantile(0.5))
+        self.assertEqual(4.0, sketch.quantile(0.9))
+        self.assertEqual(data, sketch.to_bytes())
+
+    def test_round_trip(self):
+        sketch = _create_sketch(_shuffled_values(100_000))
+        data = sketch.to_bytes()
+        restored = VolumeSketch.from_bytes(data)
+
+        self.assertEqual(sketch.n, restored.n)
+        self.assertEqual(sketch.min, restored.min)
+        self.assertEqual(sketch.max, restored.max)
+        qs = np.linspace(0, 1, 21)
+        np.testing.assert_array_equal(sketch.quantiles(qs), restored.quantiles(qs))
+        self.assertEqual(data, restored.to_bytes())
+
+    def test_deterministic(self):
+        values = _shuffled_values(100_000)
+        self.assertEqual(
+            _create_sketch(values).to_bytes(), _create_sketch(values).to_bytes()
+        )
+
+    def test_accuracy(self):
+        sketch = _create_sketch(_shuffled_values(NUM_VALUES))
+        self.assertEqual(NUM_VALUES, sketch.n)
+        self.assert_rank_error_within_bound(sketch)
+        self.assertLess(len(sketch.to_bytes()), 8 * 1024)
+
+    def test_merge_accuracy(self):
+        values = _shuffled_values(NUM_VALUES)
+        num_partitions = 7
+        merged = VolumeSketch()
+        for p in range(num_partitions):
+            merged.merge(_create_sketch(values[p::num_partitions], seed=p))
+
+        self.assertEqual(NUM_VALUES, merged.n)
+        self.assertEqual(0, merged.min)
+        self.assertEqual(NUM_VALUES - 1, merged.max)
+        self.assert_rank_error_within_bound(merged)
+
+    def test_edge_cases(self):
+        sketch = VolumeSketch(100)
+        self.assertTrue(np.isnan(sketch.quantile(0.5)))
+        sketch.update(float("nan"))
+        self.assertEqual(0, sketch.n)
+        with self.assertRaises(ValueError):
+            sketch.merge(VolumeSketch(200))
+        with self.assertRaises(ValueError):
+            sketch.quantile(1.5)
+
+
+if __name__ == "__main__":
+    unittest.main()
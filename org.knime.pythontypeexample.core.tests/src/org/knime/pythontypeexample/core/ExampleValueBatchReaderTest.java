@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.ExecutionContext;
+
+/**
+ * Tests the {@link ExampleValueBatchReader}.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class ExampleValueBatchReaderTest {
+
+    private ExecutionContext m_exec;
+
+    private BufferedDataTable m_table;
+
+    /** Creates a table with the boxes 1x2x3, 2x3x4, missing, 4x5x6 and 5x6x7. */
+    @Before
+    public void createTable() throws Exception {
+        m_exec = TestTables.createExecutionContext();
+        m_table = TestTables.createTable(m_exec, ExampleDataCell.class, //
+            new ExampleDataCell(1, 2, 3), //
+            new ExampleDataCell(2, 3, 4), //
+            null, //
+            new ExampleDataCell(4, 5, 6), //
+            new ExampleDataCell(5, 6, 7));
+    }
+
+    /** Reads in batches into the given array range and reports missing values as NaN. */
+    @Test
+    public void testReadBatches() {
+        final var widths = new double[8];
+        final var heights = new double[8];
+        final var depths = new double[8];
+        final var volumes = new double[8];
+        try (final var reader = new ExampleValueBatchReader(m_table, 0)) {
+            assertEquals(3, reader.read(widths, heights, depths, volumes, 1, 3));
+            assertEquals(2, reader.read(widths, heights, depths, volumes, 4, 3));
+            assertEquals(0, reader.read(widths, heights, depths, volumes, 6, 3));
+        }
+
+        final double nan = Double.NaN;
+        assertArrayEquals(new double[]{0, 1, 2, nan, 4, 5, 0, 0}, widths, 0);
+        assertArrayEquals(new double[]{0, 2, 3, nan, 5, 6, 0, 0}, heights, 0);
+        assertArrayEquals(new double[]{0, 3, 4, nan, 6, 7, 0, 0}, depths, 0);
+        assertArrayEquals(new double[]{0, 6, 24, nan, 120, 210, 0, 0}, volumes, 0);
+    }
+
+    /** Arrays that are not needed can be null. */
+    @Test
+    public void testReadOnlyVolumes() {
+        final var volumes = new double[5];
+        try (final var reader = new ExampleValueBatchReader(m_table, 0)) {
+            assertEquals(5, reader.read(null, null, null, volumes, 0, 10));
+        }
+        assertArrayEquals(new double[]{6, 24, Double.NaN, 120, 210}, volumes, 0);
+    }
+
+    /** The row range includes the row at toRowIndex. */
+    @Test
+    public void testReadRowRange() {
+        final var widths = new double[5];
+        try (final var reader = new ExampleValueBatchReader(m_table, 0, 1, 3)) {
+            assertEquals(3, reader.read(widths, null, null, null, 0, 5));
+        }
+        assertArrayEquals(new double[]{2, Double.NaN, 4, 0, 0}, widths, 0);
+    }
+
+    /** next() reuses one flyweight whose values change with every row. */
+    @Test
+    public void testNextReusesFlyweight() {
+        try (final var reader = new ExampleValueBatchReader(m_table, 0, 3, 4)) {
+            final ExampleDataValue first = reader.next();
+            assertEquals(4, first.getWidth(), 0);
+            assertEquals(120, first.getVolume(), 0);
+
+            final ExampleDataValue second = reader.next();
+            assertSame(first, second);
+            assertEquals(5, second.getWidth(), 0);
+            assertEquals(6, second.getHeight(), 0);
+            assertEquals(7, second.getDepth(), 0);
+            assertEquals(210, second.getVolume(), 0);
+
+            assertNull(reader.next());
+        }
+    }
+
+    /** Missing values are reported as NaN by next() as well. */
+    @Test
+    public void testNextMissingValue() {
+        try (final var reader = new ExampleValueBatchReader(m_table, 0, 2, 2)) {
+            assertTrue(Double.isNaN(reader.next().getVolume()));
+            assertNull(reader.next());
+        }
+    }
+
+    /** Columns of other types are rejected. */
+    @Test
+    public void testRejectsOtherColumnTypes() throws Exception {
+        final var doubles = TestTables.createTable(m_exec, DoubleCell.class, new DoubleCell(1));
+        assertThrows(IllegalArgumentException.class, () -> new ExampleValueBatchReader(doubles, 0));
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.StringValue;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.v2.RowContainer;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.data.v2.RowWriteCursor;
+import org.knime.core.data.v2.value.StringValueFactory.StringWriteValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.table.access.BufferedAccesses;
+import org.knime.core.table.access.StructAccess.StructReadAccess;
+import org.knime.core.table.access.StructAccess.StructWriteAccess;
+
+/**
+ * Tests the primitive write path of ExampleValues: {@link ExampleValueFactory.ExampleWriteValue} and the
+ * {@link ExampleValueBatchWriter}.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class ExampleValueBatchWriterTest {
+
+    /** The primitive setter writes the three dimensions to the struct children. */
+    @Test
+    public void testPrimitiveSetter() {
+        final var factory = ExampleValueFactory.INSTANCE;
+        final var access = BufferedAccesses.createBufferedAccess(factory.getSpec());
+        factory.createWriteValue((StructWriteAccess)access).setValue(2, 3, 4);
+        final var value = (ExampleDataValue)factory.createReadValue((StructReadAccess)access);
+
+        assertEquals(2, value.getWidth(), 0);
+        assertEquals(3, value.getHeight(), 0);
+        assertEquals(4, value.getDepth(), 0);
+        assertEquals(24, value.getVolume(), 0);
+    }
+
+    /**
+     * Two batches are appended after a row that was written without the writer. The RowIDs come from the caller, the
+     * other column is filled through the row filler and all-NaN dimensions become missing values.
+     */
+    @Test
+    public void testWriteBatches() throws Exception {
+        final double[] widths = {1, 2, Double.NaN, 4, 5};
+        final double[] heights = {2, 3, Double.NaN, 5, 6};
+        final double[] depths = {3, 4, Double.NaN, 6, 7};
+        final String[] labels = {"a", "b", "c", "d", "e"};
+
+        final var spec = new DataTableSpec( //
+            new DataColumnSpecCreator("label", StringCell.TYPE).createSpec(), //
+            new DataColumnSpecCreator("box", DataType.getType(ExampleDataCell.class)).createSpec());
+        final BufferedDataTable table;
+        try (final RowContainer container = TestTables.createExecutionContext().createRowContainer(spec);
+                final RowWriteCursor cursor = container.createCursor()) {
+            final var first = cursor.forward();
+            first.setRowKey("existing");
+            first.<StringWriteValue> getWriteValue(0).setStringValue("existing");
+            first.setMissing(1);
+
+            final var writer = new ExampleValueBatchWriter(cursor, 1);
+            final ExampleValueBatchWriter.RowFiller fillLabel =
+                (row, index) -> row.<StringWriteValue> getWriteValue(0).setStringValue(labels[index]);
+            writer.write(i -> new RowKey("first" + i), widths, heights, depths, 0, 2, fillLabel);
+            writer.write(i -> new RowKey("second" + i), widths, heights, depths, 2, 3, fillLabel);
+            table = container.finish();
+        }
+
+        assertEquals(6, table.size());
+        final String[] expectedKeys = {"existing", "first0", "first1", "second2", "second3", "second4"};
+        final String[] expectedLabels = {"existing", "a", "b", "c", "d", "e"};
+        try (final var cursor = table.cursor()) {
+            for (int i = 0; i < expectedKeys.length; i++) {
+                final RowRead row = cursor.forward();
+                assertEquals(expectedKeys[i], row.getRowKey().getString());
+                assertEquals(expectedLabels[i], row.<StringValue> getValue(0).getStringValue());
+            }
+        }
+
+        final var readWidths = new double[6];
+        final var readVolumes = new double[6];
+        try (final var reader = new ExampleValueBatchReader(table, 1)) {
+            assertEquals(6, reader.read(readWidths, null, null, readVolumes, 0, 6));
+        }
+        final double nan = Double.NaN;
+        assertArrayEquals(new double[]{nan, 1, 2, nan, 4, 5}, readWidths, 0);
+        assertArrayEquals(new double[]{nan, 6, 24, nan, 120, 210}, readVolumes, 0);
+        try (final var cursor = table.cursor()) {
+            cursor.forward();
+            cursor.forward();
+            cursor.forward();
+            assertTrue(cursor.forward().isMissing(1));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import org.junit.Test;
+import org.knime.core.data.v2.ReadValue;
+import org.knime.core.table.access.BufferedAccesses;
+import org.knime.core.table.access.StructAccess.StructReadAccess;
+import org.knime.core.table.access.StructAccess.StructWriteAccess;
+
+/**
+ * Tests the {@link MeshValueFactory} by writing meshes to an access and reading them back.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public class MeshValueFactoryTest {
+
+    private static final MeshValueFactory FACTORY = MeshValueFactory.INSTANCE;
+
+    /** Meshes of different sizes survive the round trip through the factory's accesses. */
+    @Test
+    public void testRoundTrip() {
+        assertRoundTrip(new MeshDataCell( //
+            new float[]{0, 0, 0, 1, 0, 0, 0, 1, 0, 0, 0, 1}, //
+            new int[]{0, 1, 2, 0, 1, 3, 0, 2, 3, 1, 2, 3}));
+        assertRoundTrip(new MeshDataCell(new float[]{0, 0, 0, 1, 1, 1}, new int[0]));
+        assertRoundTrip(new MeshDataCell(new float[0], new int[0]));
+    }
+
+    /** Incomplete vertices or triangles and vertex indices out of bounds are rejected. */
+    @Test
+    public void testInvalidMeshes() {
+        final float[] triangle = {0, 0, 0, 1, 0, 0, 0, 1, 0};
+        assertThrows(IllegalArgumentException.class, () -> new MeshDataCell(new float[]{0, 0}, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new MeshDataCell(triangle, new int[]{0, 1}));
+        assertThrows(IllegalArgumentException.class, () -> new MeshDataCell(triangle, new int[]{0, 1, 3}));
+        assertThrows(IllegalArgumentException.class, () -> new MeshDataCell(triangle, new int[]{0, -1, 2}));
+    }
+
+    private static void assertRoundTrip(final MeshDataCell expected) {
+        final var access = BufferedAccesses.createBufferedAccess(FACTORY.getSpec());
+        FACTORY.createWriteValue((StructWriteAccess)access).setValue(expected);
+        final var value = (MeshDataValue)FACTORY.createReadValue((StructReadAccess)access);
+
+        assertEquals(expected.getNumVertices(), value.getNumVertices());
+        assertEquals(expected.getNumTriangles(), value.getNumTriangles());
+        for (int i = 0; i < 3 * expected.getNumVertices(); i++) {
+            assertEquals(expected.getVertexCoordinate(i), value.getVertexCoordinate(i), 0);
+        }
+        for (int i = 0; i < 3 * expected.getNumTriangles(); i++) {
+            assertEquals(expected.getVertexIndex(i), value.getVertexIndex(i));
+        }
+        assertArrayEquals(expected.getVertices(), value.getVertices(), 0);
+        assertArrayEquals(expected.getIndices(), value.getIndices());
+        assertEquals(expected, ((ReadValue)value).getDataCell());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.filestore.internal.NotInWorkflowDataRepository;
+import org.knime.core.data.v2.RowContainer;
+import org.knime.core.data.v2.RowWriteCursor;
+import org.knime.core.data.v2.WriteValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Creates single-column tables for the tests of the data types.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+@SuppressWarnings("restriction")
+final class TestTables {
+
+    private TestTables() {
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static ExecutionContext createExecutionContext() {
+        return new ExecutionContext(new DefaultNodeProgressMonitor(),
+            new Node((NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0])),
+            SingleNodeContainer.MemoryPolicy.CacheSmallInMemory, NotInWorkflowDataRepository.newInstance());
+    }
+
+    /**
+     * @param exec the execution context to create the table with
+     * @param cellClass the type of the column
+     * @param cells the cells of the rows, null for a missing value
+     * @return a table with one column "value" and one row per cell
+     */
+    static BufferedDataTable createTable(final ExecutionContext exec, final Class<? extends DataCell> cellClass,
+        final DataCell... cells) throws Exception {
+        final var spec = new DataTableSpec(new DataColumnSpecCreator("value", DataType.getType(cellClass)).createSpec());
+        try (final RowContainer container = exec.createRowContainer(spec);
+                final RowWriteCursor cursor = container.createCursor()) {
+            for (int i = 0; i < cells.length; i++) {
+                final var row = cursor.forward();
+                row.setRowKey("Row" + i);
+                if (cells[i] == null) {
+                    row.setMissing(0);
+                } else {
+                    row.<WriteValue<DataCell>> getWriteValue(0).setValue(cells[i]);
+                }
+            }
+            return container.finish();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+
+/**
+ * DataCell holding a list of box dimensions in a single interleaved double array (width, height, depth per box)
+ * instead of one {@link ExampleDataCell} per element.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class ExampleListDataCell extends DataCell implements ExampleListDataValue {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] m_dimensions;
+
+    /**
+     * Create an ExampleListDataCell
+     * @param dimensions interleaved width, height and depth of each box, the array is not copied and must not be
+     *            modified afterwards
+     */
+    public ExampleListDataCell(final double[] dimensions) {
+        if (dimensions.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                "Expected three dimensions per box, but got " + dimensions.length + " values");
+        }
+        m_dimensions = dimensions;
+    }
+
+    @Override
+    public int size() {
+        return m_dimensions.length / 3;
+    }
+
+    @Override
+    public double getWidth(final int index) {
+        return m_dimensions[3 * index];
+    }
+
+    @Override
+    public double getHeight(final int index) {
+        return m_dimensions[3 * index + 1];
+    }
+
+    @Override
+    public double getDepth(final int index) {
+        return m_dimensions[3 * index + 2];
+    }
+
+    @Override
+    public double[] getDimensions() {
+        return m_dimensions.clone();
+    }
+
+    @Override
+    public String toString() {
+        final var sb = new StringBuilder("[");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%fm x %fm x %fm", getWidth(i), getHeight(i), getDepth(i)));
+        }
+        return sb.append(']').toString();
+    }
+
+    @Override
+    protected boolean equalsDataCell(final DataCell dc) {
+        return Arrays.equals(m_dimensions, ((ExampleListDataCell)dc).m_dimensions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(m_dimensions);
+    }
+
+    /**
+     * Serializer for {@link ExampleListDataCell}s.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class CellSerializer implements DataCellSerializer<ExampleListDataCell> {
+        @Override
+        public void serialize(final ExampleListDataCell cell, final DataCellDataOutput output) throws IOException {
+            output.writeInt(cell.m_dimensions.length);
+            for (final double d : cell.m_dimensions) {
+                output.writeDouble(d);
+            }
+        }
+
+        @Override
+        public ExampleListDataCell deserialize(final DataCellDataInput input) throws IOException {
+            final var dimensions = new double[input.readInt()];
+            for (int i = 0; i < dimensions.length; i++) {
+                dimensions[i] = input.readDouble();
+            }
+            return new ExampleListDataCell(dimensions);
+        }
+    }
+
+}
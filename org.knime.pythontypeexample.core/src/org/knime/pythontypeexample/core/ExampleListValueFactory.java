@@ -0,0 +1,163 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.v2.ReadValue;
+import org.knime.core.data.v2.ValueFactory;
+import org.knime.core.data.v2.WriteValue;
+import org.knime.core.table.access.DoubleAccess.DoubleReadAccess;
+import org.knime.core.table.access.DoubleAccess.DoubleWriteAccess;
+import org.knime.core.table.access.ListAccess.ListReadAccess;
+import org.knime.core.table.access.ListAccess.ListWriteAccess;
+import org.knime.core.table.schema.DataSpec;
+import org.knime.core.table.schema.ListDataSpec;
+
+/**
+ * {@link ValueFactory} implementation for ExampleListDataCell.
+ *
+ * The boxes are stored as a single list of doubles with interleaved width, height and depth per box, so that a list
+ * of n boxes is one primitive list of 3n doubles instead of n structs. On the Python side this list can be viewed as
+ * an (n, 3) numpy array.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class ExampleListValueFactory implements ValueFactory<ListReadAccess, ListWriteAccess> {
+
+    /** A stateless instance of {@link ExampleListValueFactory} */
+    public static final ExampleListValueFactory INSTANCE = new ExampleListValueFactory();
+
+    @Override
+    public ReadValue createReadValue(final ListReadAccess access) {
+        return new DefaultExampleListReadValue(access);
+    }
+
+    @Override
+    public WriteValue<ExampleListDataValue> createWriteValue(final ListWriteAccess access) {
+        return new DefaultExampleListWriteValue(access);
+    }
+
+    @Override
+    public ListDataSpec getSpec() {
+        return new ListDataSpec(DataSpec.doubleSpec());
+    }
+
+    private static final class DefaultExampleListReadValue implements ReadValue, ExampleListDataValue {
+        private final ListReadAccess m_access;
+        private final DoubleReadAccess m_elements;
+
+        private DefaultExampleListReadValue(final ListReadAccess access) {
+            m_access = access;
+            m_elements = access.getAccess();
+        }
+
+        @Override
+        public DataCell getDataCell() {
+            return new ExampleListDataCell(getDimensions());
+        }
+
+        @Override
+        public int size() {
+            return m_access.size() / 3;
+        }
+
+        @Override
+        public double getWidth(final int index) {
+            return getElement(3 * index);
+        }
+
+        @Override
+        public double getHeight(final int index) {
+            return getElement(3 * index + 1);
+        }
+
+        @Override
+        public double getDepth(final int index) {
+            return getElement(3 * index + 2);
+        }
+
+        @Override
+        public double[] getDimensions() {
+            final var dimensions = new double[m_access.size()];
+            for (int i = 0; i < dimensions.length; i++) {
+                dimensions[i] = getElement(i);
+            }
+            return dimensions;
+        }
+
+        private double getElement(final int index) {
+            m_access.setIndex(index);
+            return m_elements.getDoubleValue();
+        }
+    }
+
+    private static final class DefaultExampleListWriteValue implements WriteValue<ExampleListDataValue> {
+
+        private final ListWriteAccess m_access;
+        private final DoubleWriteAccess m_elements;
+
+        private DefaultExampleListWriteValue(final ListWriteAccess access) {
+            m_access = access;
+            m_elements = access.getWriteAccess();
+        }
+
+        @Override
+        public void setValue(final ExampleListDataValue value) {
+            final int size = value.size();
+            m_access.create(3 * size);
+            for (int i = 0; i < size; i++) {
+                setElement(3 * i, value.getWidth(i));
+                setElement(3 * i + 1, value.getHeight(i));
+                setElement(3 * i + 2, value.getDepth(i));
+            }
+        }
+
+        private void setElement(final int index, final double value) {
+            m_access.setWriteIndex(index);
+            m_elements.setDoubleValue(value);
+        }
+    }
+}
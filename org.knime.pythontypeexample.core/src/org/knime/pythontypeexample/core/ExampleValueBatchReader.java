@@ -0,0 +1,201 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.v2.RowCursor;
+import org.knime.core.data.v2.RowRead;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * Reads an ExampleValue column of a table into primitive arrays, batch by batch, or row by row through a reused
+ * {@link ExampleDataValue} flyweight. No cell or other object is created per row, and the three dimensions of a row
+ * are read only once.
+ *
+ * Missing values are reported as NaN dimensions and volume.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class ExampleValueBatchReader implements AutoCloseable {
+
+    private final RowCursor m_cursor;
+
+    private final int m_columnIndex;
+
+    private final Flyweight m_flyweight = new Flyweight();
+
+    /**
+     * Read the given column of all rows of the table.
+     *
+     * @param table the table to read
+     * @param columnIndex the index of a column that is compatible with {@link ExampleDataValue}
+     */
+    public ExampleValueBatchReader(final BufferedDataTable table, final int columnIndex) {
+        this(table, columnIndex, TableFilter.materializeCols(columnIndex));
+    }
+
+    /**
+     * Read the given column of a range of rows of the table.
+     *
+     * @param table the table to read
+     * @param columnIndex the index of a column that is compatible with {@link ExampleDataValue}
+     * @param fromRowIndex the index of the first row to read
+     * @param toRowIndex the index of the last row to read (inclusive)
+     */
+    public ExampleValueBatchReader(final BufferedDataTable table, final int columnIndex, final long fromRowIndex,
+        final long toRowIndex) {
+        this(table, columnIndex, new TableFilter.Builder() //
+            .withMaterializeColumnIndices(columnIndex) //
+            .withFromRowIndex(fromRowIndex) //
+            .withToRowIndex(toRowIndex) //
+            .build());
+    }
+
+    private ExampleValueBatchReader(final BufferedDataTable table, final int columnIndex, final TableFilter filter) {
+        if (!table.getDataTableSpec().getColumnSpec(columnIndex).getType().isCompatible(ExampleDataValue.class)) {
+            throw new IllegalArgumentException("Column " + columnIndex + " is not an ExampleValue column");
+        }
+        m_columnIndex = columnIndex;
+        m_cursor = table.cursor(filter);
+    }
+
+    /**
+     * Read the next rows into the given arrays. Arrays that are not needed can be null.
+     *
+     * @param widths receives the widths
+     * @param heights receives the heights
+     * @param depths receives the depths
+     * @param volumes receives the volumes
+     * @param offset the array position of the first row that is read
+     * @param length the maximum number of rows to read
+     * @return the number of rows read, which is less than length only at the end of the row range
+     */
+    public int read(final double[] widths, final double[] heights, final double[] depths, final double[] volumes,
+        final int offset, final int length) {
+        int numRead = 0;
+        while (numRead < length && forward()) {
+            final int i = offset + numRead;
+            if (widths != null) {
+                widths[i] = m_flyweight.m_width;
+            }
+            if (heights != null) {
+                heights[i] = m_flyweight.m_height;
+            }
+            if (depths != null) {
+                depths[i] = m_flyweight.m_depth;
+            }
+            if (volumes != null) {
+                volumes[i] = m_flyweight.m_volume;
+            }
+            numRead++;
+        }
+        return numRead;
+    }
+
+    /**
+     * Move to the next row and return its value. The returned object is the same for all rows and only valid until
+     * the next call, so don't keep references to it.
+     *
+     * @return the value of the next row, or null if there are no more rows
+     */
+    public ExampleDataValue next() {
+        return forward() ? m_flyweight : null;
+    }
+
+    @Override
+    public void close() {
+        m_cursor.close();
+    }
+
+    private boolean forward() {
+        if (!m_cursor.canForward()) {
+            return false;
+        }
+        final RowRead row = m_cursor.forward();
+        if (row.isMissing(m_columnIndex)) {
+            m_flyweight.set(Double.NaN, Double.NaN, Double.NaN);
+        } else {
+            final ExampleDataValue value = row.getValue(m_columnIndex);
+            m_flyweight.set(value.getWidth(), value.getHeight(), value.getDepth());
+        }
+        return true;
+    }
+
+    /** Holds the primitive dimensions of the current row, volume is only computed once */
+    private static final class Flyweight implements ExampleDataValue {
+        private double m_width;
+        private double m_height;
+        private double m_depth;
+        private double m_volume;
+
+        private void set(final double width, final double height, final double depth) {
+            m_width = width;
+            m_height = height;
+            m_depth = depth;
+            m_volume = width * height * depth;
+        }
+
+        @Override
+        public double getHeight() {
+            return m_height;
+        }
+
+        @Override
+        public double getWidth() {
+            return m_width;
+        }
+
+        @Override
+        public double getDepth() {
+            return m_depth;
+        }
+
+        @Override
+        public double getVolume() {
+            return m_volume;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import java.util.function.IntFunction;
+
+import org.knime.core.data.RowKeyValue;
+import org.knime.core.data.v2.RowWrite;
+import org.knime.core.data.v2.RowWriteCursor;
+import org.knime.pythontypeexample.core.ExampleValueFactory.ExampleWriteValue;
+
+/**
+ * Writes the ExampleValue column of rows from primitive arrays, without creating an {@link ExampleDataValue} per row.
+ * The dimensions are set directly on the write value of the column, which writes them to the struct's double
+ * children.
+ *
+ * The writer only writes the ExampleValue column. The caller provides the RowIDs, so that several writers or other
+ * producers can append to the same cursor, and fills the other columns of each row through a {@link RowFiller}.
+ * Rows whose dimensions are all NaN are written as missing values, which mirrors how the
+ * {@link ExampleValueBatchReader} reports missing values.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class ExampleValueBatchWriter {
+
+    /**
+     * Fills the columns of a row that are not written by the {@link ExampleValueBatchWriter}.
+     */
+    @FunctionalInterface
+    public interface RowFiller {
+        /**
+         * @param row the row that is currently written
+         * @param index the array position the row was created from
+         */
+        void fill(RowWrite row, int index);
+    }
+
+    private final RowWriteCursor m_cursor;
+
+    private final int m_columnIndex;
+
+    /**
+     * @param cursor the cursor of the row container to write to, may already contain rows
+     * @param columnIndex the index of the ExampleValue column in the container's spec
+     */
+    public ExampleValueBatchWriter(final RowWriteCursor cursor, final int columnIndex) {
+        m_cursor = cursor;
+        m_columnIndex = columnIndex;
+    }
+
+    /**
+     * Append one row per array position in [offset, offset + length) to a container whose only column is the
+     * ExampleValue column.
+     *
+     * @param rowKeys provides the RowID of the row created from the given array position
+     * @param widths the widths
+     * @param heights the heights
+     * @param depths the depths
+     * @param offset the array position of the first row to write
+     * @param length the number of rows to write
+     */
+    public void write(final IntFunction<? extends RowKeyValue> rowKeys, final double[] widths,
+        final double[] heights, final double[] depths, final int offset, final int length) {
+        write(rowKeys, widths, heights, depths, offset, length, (row, index) -> {
+        });
+    }
+
+    /**
+     * Append one row per array position in [offset, offset + length).
+     *
+     * @param rowKeys provides the RowID of the row created from the given array position
+     * @param widths the widths
+     * @param heights the heights
+     * @param depths the depths
+     * @param offset the array position of the first row to write
+     * @param length the number of rows to write
+     * @param otherColumns fills all other columns of each row
+     */
+    public void write(final IntFunction<? extends RowKeyValue> rowKeys, final double[] widths,
+        final double[] heights, final double[] depths, final int offset, final int length,
+        final RowFiller otherColumns) {
+        for (int i = offset; i < offset + length; i++) {
+            final RowWrite row = m_cursor.forward();
+            row.setRowKey(rowKeys.apply(i));
+            if (Double.isNaN(widths[i]) && Double.isNaN(heights[i]) && Double.isNaN(depths[i])) {
+                row.setMissing(m_columnIndex);
+            } else {
+                row.<ExampleWriteValue> getWriteValue(m_columnIndex).setValue(widths[i], heights[i], depths[i]);
+            }
+            otherColumns.fill(row, i);
+        }
+    }
+}
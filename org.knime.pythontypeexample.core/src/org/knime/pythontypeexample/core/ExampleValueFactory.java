@@ -73,7 +73,7 @@ public ReadValue createReadValue(final StructReadAccess access) {
     }
 
     @Override
-    public WriteValue<ExampleDataValue> createWriteValue(final StructWriteAccess access) {
+    public ExampleWriteValue createWriteValue(final StructWriteAccess access) {
         return new DefaultExampleWriteValue(access);
     }
 
@@ -119,7 +119,20 @@ public double getVolume() {
         }
     }
 
-    private static final class DefaultExampleWriteValue implements WriteValue<ExampleDataValue> {
+    /**
+     * {@link WriteValue} for ExampleDataValues that can also be set from primitive dimensions, so that producers
+     * don't need to create an {@link ExampleDataValue} per row.
+     */
+    public interface ExampleWriteValue extends WriteValue<ExampleDataValue> {
+        /**
+         * @param width width in m
+         * @param height height in m
+         * @param depth depth in m
+         */
+        void setValue(double width, double height, double depth);
+    }
+
+    private static final class DefaultExampleWriteValue implements ExampleWriteValue {
 
         private final DoubleWriteAccess m_width;
         private final DoubleWriteAccess m_height;
@@ -133,9 +146,14 @@ private DefaultExampleWriteValue(final StructWriteAccess access) {
 
         @Override
         public void setValue(final ExampleDataValue value) {
-            m_width.setDoubleValue(value.getWidth());
-            m_height.setDoubleValue(value.getHeight());
-            m_depth.setDoubleValue(value.getDepth());
+            setValue(value.getWidth(), value.getHeight(), value.getDepth());
+        }
+
+        @Override
+        public void setValue(final double width, final double height, final double depth) {
+            m_width.setDoubleValue(width);
+            m_height.setDoubleValue(height);
+            m_depth.setDoubleValue(depth);
         }
 
     }
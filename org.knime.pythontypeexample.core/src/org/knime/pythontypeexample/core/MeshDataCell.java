@@ -0,0 +1,173 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataCellDataInput;
+import org.knime.core.data.DataCellDataOutput;
+import org.knime.core.data.DataCellSerializer;
+
+/**
+ * DataCell holding a triangle mesh as primitive vertex coordinate and index arrays.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class MeshDataCell extends DataCell implements MeshDataValue {
+
+    private static final long serialVersionUID = 1L;
+
+    private final float[] m_vertices;
+
+    private final int[] m_indices;
+
+    /**
+     * Create a MeshDataCell
+     * @param vertices interleaved x, y, z coordinates of the vertices, not copied and must not be modified afterwards
+     * @param indices vertex indices, three per triangle, each in [0, number of vertices), not copied and must not be
+     *            modified afterwards
+     */
+    public MeshDataCell(final float[] vertices, final int[] indices) {
+        if (vertices.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                "Expected three coordinates per vertex, but got " + vertices.length + " values");
+        }
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException(
+                "Expected three vertex indices per triangle, but got " + indices.length + " values");
+        }
+        final int numVertices = vertices.length / 3;
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] < 0 || indices[i] >= numVertices) {
+                throw new IllegalArgumentException("Vertex index " + indices[i] + " of triangle " + (i / 3)
+                    + " is out of bounds for a mesh with " + numVertices + " vertices");
+            }
+        }
+        m_vertices = vertices;
+        m_indices = indices;
+    }
+
+    @Override
+    public int getNumVertices() {
+        return m_vertices.length / 3;
+    }
+
+    @Override
+    public float getVertexCoordinate(final int index) {
+        return m_vertices[index];
+    }
+
+    @Override
+    public int getNumTriangles() {
+        return m_indices.length / 3;
+    }
+
+    @Override
+    public int getVertexIndex(final int index) {
+        return m_indices[index];
+    }
+
+    @Override
+    public float[] getVertices() {
+        return m_vertices.clone();
+    }
+
+    @Override
+    public int[] getIndices() {
+        return m_indices.clone();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Mesh(%d vertices, %d triangles)", getNumVertices(), getNumTriangles());
+    }
+
+    @Override
+    protected boolean equalsDataCell(final DataCell dc) {
+        var mdc = (MeshDataCell)dc;
+        return Arrays.equals(m_vertices, mdc.m_vertices) && Arrays.equals(m_indices, mdc.m_indices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(m_vertices) + Arrays.hashCode(m_indices);
+    }
+
+    /**
+     * Serializer for {@link MeshDataCell}s.
+     *
+     * @noreference This class is not intended to be referenced by clients.
+     */
+    public static final class CellSerializer implements DataCellSerializer<MeshDataCell> {
+        @Override
+        public void serialize(final MeshDataCell cell, final DataCellDataOutput output) throws IOException {
+            output.writeInt(cell.m_vertices.length);
+            for (final float v : cell.m_vertices) {
+                output.writeFloat(v);
+            }
+            output.writeInt(cell.m_indices.length);
+            for (final int i : cell.m_indices) {
+                output.writeInt(i);
+            }
+        }
+
+        @Override
+        public MeshDataCell deserialize(final DataCellDataInput input) throws IOException {
+            final var vertices = new float[input.readInt()];
+            for (int i = 0; i < vertices.length; i++) {
+                vertices[i] = input.readFloat();
+            }
+            final var indices = new int[input.readInt()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = input.readInt();
+            }
+            return new MeshDataCell(vertices, indices);
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+/*
+ * ------------------------------------------------------------------------
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ------------------------------------------------------------------------
+ */
+
+package org.knime.pythontypeexample.core;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.v2.ReadValue;
+import org.knime.core.data.v2.ValueFactory;
+import org.knime.core.data.v2.WriteValue;
+import org.knime.core.table.access.FloatAccess.FloatReadAccess;
+import org.knime.core.table.access.FloatAccess.FloatWriteAccess;
+import org.knime.core.table.access.IntAccess.IntReadAccess;
+import org.knime.core.table.access.IntAccess.IntWriteAccess;
+import org.knime.core.table.access.ListAccess.ListReadAccess;
+import org.knime.core.table.access.ListAccess.ListWriteAccess;
+import org.knime.core.table.access.StructAccess.StructReadAccess;
+import org.knime.core.table.access.StructAccess.StructWriteAccess;
+import org.knime.core.table.schema.DataSpec;
+import org.knime.core.table.schema.ListDataSpec;
+import org.knime.core.table.schema.StructDataSpec;
+
+/**
+ * {@link ValueFactory} implementation for MeshDataCell.
+ *
+ * A mesh is stored as a struct of a list of floats with the interleaved vertex coordinates and a list of ints with
+ * three vertex indices per triangle. On the Python side these lists are decoded to numpy vertex and face arrays.
+ *
+ * @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
+ */
+public final class MeshValueFactory implements ValueFactory<StructReadAccess, StructWriteAccess> {
+
+    /** A stateless instance of {@link MeshValueFactory} */
+    public static final MeshValueFactory INSTANCE = new MeshValueFactory();
+
+    @Override
+    public ReadValue createReadValue(final StructReadAccess access) {
+        return new DefaultMeshReadValue(access);
+    }
+
+    @Override
+    public WriteValue<MeshDataValue> createWriteValue(final StructWriteAccess access) {
+        return new DefaultMeshWriteValue(access);
+    }
+
+    @Override
+    public StructDataSpec getSpec() {
+        return new StructDataSpec(new ListDataSpec(DataSpec.floatSpec()), new ListDataSpec(DataSpec.intSpec()));
+    }
+
+    /** Reads the elements straight from the list accesses, arrays are only created on request */
+    private static final class DefaultMeshReadValue implements ReadValue, MeshDataValue {
+        private final ListReadAccess m_vertices;
+        private final FloatReadAccess m_vertexCoordinate;
+        private final ListReadAccess m_indices;
+        private final IntReadAccess m_vertexIndex;
+
+        private DefaultMeshReadValue(final StructReadAccess access) {
+            m_vertices = access.getAccess(0);
+            m_vertexCoordinate = m_vertices.getAccess();
+            m_indices = access.getAccess(1);
+            m_vertexIndex = m_indices.getAccess();
+        }
+
+        @Override
+        public DataCell getDataCell() {
+            return new MeshDataCell(getVertices(), getIndices());
+        }
+
+        @Override
+        public int getNumVertices() {
+            return m_vertices.size() / 3;
+        }
+
+        @Override
+        public float getVertexCoordinate(final int index) {
+            m_vertices.setIndex(index);
+            return m_vertexCoordinate.getFloatValue();
+        }
+
+        @Override
+        public int getNumTriangles() {
+            return m_indices.size() / 3;
+        }
+
+        @Override
+        public int getVertexIndex(final int index) {
+            m_indices.setIndex(index);
+            return m_vertexIndex.getIntValue();
+        }
+
+        @Override
+        public float[] getVertices() {
+            final var vertices = new float[m_vertices.size()];
+            for (int i = 0; i < vertices.length; i++) {
+                vertices[i] = getVertexCoordinate(i);
+            }
+            return vertices;
+        }
+
+        @Override
+        public int[] getIndices() {
+            final var indices = new int[m_indices.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = getVertexIndex(i);
+            }
+            return indices;
+        }
+    }
+
+    private static final class DefaultMeshWriteValue implements WriteValue<MeshDataValue> {
+
+        private final ListWriteAccess m_vertices;
+        private final FloatWriteAccess m_vertexCoordinate;
+        private final ListWriteAccess m_indices;
+        private final IntWriteAccess m_vertexIndex;
+
+        private DefaultMeshWriteValue(final StructWriteAccess access) {
+            m_vertices = access.getWriteAccess(0);
+            m_vertexCoordinate = m_vertices.getWriteAccess();
+            m_indices = access.getWriteAccess(1);
+            m_vertexIndex = m_indices.getWriteAccess();
+        }
+
+        @Override
+        public void setValue(final MeshDataValue value) {
+            final int numCoordinates = 3 * value.getNumVertices();
+            m_vertices.create(numCoordinates);
+            for (int i = 0; i < numCoordinates; i++) {
+                m_vertices.setWriteIndex(i);
+                m_vertexCoordinate.setFloatValue(value.getVertexCoordinate(i));
+            }
+
+            final int numIndices = 3 * value.getNumTriangles();
+            m_indices.create(numIndices);
+            for (int i = 0; i < numIndices; i++) {
+                m_indices.setWriteIndex(i);
+                m_vertexIndex.setIntValue(value.getVertexIndex(i));
+            }
+        }
+
+    }
+}
@@ -48,6 +48,8 @@ PythonValueFactory implementations for pythontypeexample KNIME types.
 @author Carsten Haubold, KNIME GmbH, Konstanz, Germany
 """
 import knime.api.types as kt
+import numpy as np
+import pyarrow as pa
 
 
 class ExampleValue:
@@ -79,3 +81,130 @@ class ExampleValueFactory(kt.PythonValueFactory):
         if value is None:
             return None
         return {"0": value.width, "1": value.height, "2": value.depth}
+
+
+class ExampleValueList:
+    """
+    A list of boxes, stored as (n, 3) numpy array with width, height and depth per row.
+    """
+
+    def __init__(self, dimensions):
+        self.dimensions = np.asarray(dimensions, dtype=np.float64).reshape(-1, 3)
+
+    def __len__(self):
+        return len(self.dimensions)
+
+    @property
+    def widths(self):
+        return self.dimensions[:, 0]
+
+    @property
+    def heights(self):
+        return self.dimensions[:, 1]
+
+    @property
+    def depths(self):
+        return self.dimensions[:, 2]
+
+    @property
+    def volumes(self):
+        return self.dimensions.prod(axis=1)
+
+    def __str__(self):
+        return f"ExampleValueList({len(self)} boxes)"
+
+
+class ExampleListValueFactory(kt.PythonValueFactory):
+    def __init__(self):
+        kt.PythonValueFactory.__init__(self, ExampleValueList)
+
+    def decode(self, storage):
+        if storage is None:
+            return None
+
+        # storage is a flat list with interleaved width, height and depth per box
+        return ExampleValueList(storage)
+
+    def encode(self, value):
+        if value is None:
+            return None
+        return value.dimensions.ravel()
+
+
+def example_value_lists_to_numpy(column):
+    """
+    View all boxes of a pyarrow column of ExampleValueLists as one (n, 3) numpy array without
+    copying, together with the offsets of each row's boxes: the boxes of row i are
+    ``dimensions[offsets[i]:offsets[i + 1]]``.
+
+    Use this on the columns of ``table.to_pyarrow()`` instead of decoding each row to an
+    ExampleValueList when processing many rows. Chunked columns are combined first, which copies.
+    """
+    if isinstance(column, pa.ChunkedArray):
+        column = column.combine_chunks()
+    while isinstance(column, pa.ExtensionArray):
+        column = column.storage
+    # offsets refer to the unsliced child values, so don't use flatten() here
+    dimensions = column.values.to_numpy(zero_copy_only=True).reshape(-1, 3)
+    offsets = column.offsets.to_numpy(zero_copy_only=True) // 3
+    return dimensions, offsets
+
+
+class Mesh:
+    """
+    A triangle mesh with an (m, 3) float32 array of vertex coordinates and an (k, 3) int32
+    array of vertex indices per triangle.
+    """
+
+    def __init__(self, vertices, faces):
+        self.vertices = np.asarray(vertices, dtype=np.float32).reshape(-1, 3)
+        self.faces = np.asarray(faces, dtype=np.int32).reshape(-1, 3)
+        if np.any((self.faces < 0) | (self.faces >= len(self.vertices))):
+            raise ValueError(
+                f"Vertex indices must be in [0, {len(self.vertices)}) for a mesh with "
+                f"{len(self.vertices)} vertices, but got {self.faces.min()} .. {self.faces.max()}"
+            )
+
+    def __str__(self):
+        return f"Mesh({len(self.vertices)} vertices, {len(self.faces)} triangles)"
+
+
+class MeshValueFactory(kt.PythonValueFactory):
+    def __init__(self):
+        kt.PythonValueFactory.__init__(self, Mesh)
+
+    def decode(self, storage):
+        if storage is None:
+            return None
+
+        # storage is a dictionary with the flat vertex coordinate and vertex index lists
+        return Mesh(storage["0"], storage["1"])
+
+    def encode(self, value):
+        if value is None:
+            return None
+        return {"0": value.vertices.ravel(), "1": value.faces.ravel()}
+
+
+def meshes_to_numpy(column):
+    """
+    View all meshes of a pyarrow column of Meshes as numpy arrays without copying.
+
+    Returns ``(vertices, vertex_offsets, faces, face_offsets)``, where the mesh in row i has
+    the vertices ``vertices[vertex_offsets[i]:vertex_offsets[i + 1]]`` and the faces
+    ``faces[face_offsets[i]:face_offsets[i + 1]]``. Face indices are relative to the
+    vertices of their own row. Chunked columns are combined first, which copies.
+    """
+    if isinstance(column, pa.ChunkedArray):
+        column = column.combine_chunks()
+    while isinstance(column, pa.ExtensionArray):
+        column = column.storage
+    # flatten() accounts for the offset of sliced struct arrays, field() would not
+    vertex_lists, face_lists = column.flatten()
+    # the list offsets index into the lists' full child values, so take .values rather than
+    # the lists' flatten(), which would drop the leading values of a slice
+    vertices = vertex_lists.values.to_numpy(zero_copy_only=True).reshape(-1, 3)
+    vertex_offsets = vertex_lists.offsets.to_numpy(zero_copy_only=True) // 3
+    faces = face_lists.values.to_numpy(zero_copy_only=True).reshape(-1, 3)
+    face_offsets = face_lists.offsets.to_numpy(zero_copy_only=True) // 3
+    return vertices, vertex_offsets, faces, face_offsets